@@ -0,0 +1,227 @@
+package se.sven.nhldataservice.client;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import se.sven.nhldataservice.dto.GameDTO;
+import se.sven.nhldataservice.dto.GameWeekDTO;
+import se.sven.nhldataservice.exception.NhlApiUnavailableException;
+import se.sven.nhldataservice.util.CircuitBreaker;
+import se.sven.nhldataservice.util.RateLimiter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Client for the public NHL web API.
+ * Schedule responses are parsed while they are read from the connection,
+ * without first buffering the whole document. All calls share a global rate limit
+ * and a circuit breaker, so an upstream outage fails fast instead of timing out;
+ * only transport errors, timeouts, 5xx and 429 answers count as failures.
+ * The ETag and Last-Modified validators of recent responses are kept per URL and
+ * sent on the next request, so an unchanged schedule is answered with 304 without
+ * being downloaded again. The previous result is kept as a compact document and
+ * parsed again on each 304, so callers never share mutable game objects.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NhlApiClient {
+
+    private final RestTemplate restTemplate;
+    private final ScheduleStreamParser scheduleStreamParser;
+    private final RateLimiter nhlApiRateLimiter;
+    private final CircuitBreaker nhlApiCircuitBreaker;
+
+    private static final String BASE_URL = "https://api-web.nhle.com";
+    private static final String API_ENDPOINT = "/v1/schedule/";
+    private static final int MAX_CACHED_SCHEDULES = 64;
+
+    private final Map<String, CachedSchedule> cachedSchedules = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedSchedule> eldest) {
+            return size() > MAX_CACHED_SCHEDULES;
+        }
+    };
+
+    /**
+     * Fetches the schedule week starting at the given date.
+     * Every day of the returned week is included, also days without games.
+     *
+     * @param date first date of the week
+     * @return games grouped by date
+     * @throws NhlApiUnavailableException if the call failed or the circuit breaker is open
+     */
+    public Map<LocalDate, List<GameDTO>> fetchScheduleWeek(LocalDate date) {
+        String url = buildApiUrl(date);
+
+        // Checked before the rate limit, so calls fail fast while the circuit is open
+        if (!nhlApiCircuitBreaker.tryAcquire()) {
+            throw new NhlApiUnavailableException("Circuit breaker open, skipping NHL API call: " + url);
+        }
+
+        try {
+            nhlApiRateLimiter.acquire();
+        } catch (InterruptedException e) {
+            nhlApiCircuitBreaker.release();
+            Thread.currentThread().interrupt();
+            throw new NhlApiUnavailableException("Interrupted while waiting to call NHL API: " + url, e);
+        }
+
+        CachedSchedule cached = getCachedSchedule(url);
+        log.info("Calling NHL API: {}", url);
+        ScheduleResponse response;
+        try {
+            response = restTemplate.execute(url, HttpMethod.GET,
+                    request -> addValidators(request, cached), this::readResponse);
+        } catch (RuntimeException e) {
+            // Every outcome settles the permit, so a failed trial call never leaves the circuit half open
+            if (isUpstreamFailure(e)) {
+                nhlApiCircuitBreaker.recordFailure();
+            } else {
+                nhlApiCircuitBreaker.release();
+            }
+            log.error("Error during API call: {}", e.getMessage());
+            throw new NhlApiUnavailableException("NHL API call failed: " + url, e);
+        }
+        nhlApiCircuitBreaker.recordSuccess();
+
+        if (response != null && response.notModified() && cached != null) {
+            Map<LocalDate, List<GameDTO>> gamesByDate = readCachedSchedule(url, cached);
+            log.info("Schedule not modified, reusing {} dates for {}", gamesByDate.size(), url);
+            return gamesByDate;
+        }
+
+        List<GameWeekDTO> weeks = response != null ? response.weeks() : null;
+        storeValidators(url, response, weeks);
+        Map<LocalDate, List<GameDTO>> gamesByDate = groupByDate(weeks);
+
+        log.info("Found {} games on {} dates from API",
+                gamesByDate.values().stream().mapToInt(List::size).sum(), gamesByDate.size());
+        return gamesByDate;
+    }
+
+    /**
+     * Client errors other than 429 mean the request itself was wrong, not that the API is down,
+     * so they leave the circuit breaker alone.
+     */
+    private static boolean isUpstreamFailure(RuntimeException e) {
+        return !(e instanceof HttpClientErrorException clientError)
+                || clientError.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private synchronized CachedSchedule getCachedSchedule(String url) {
+        return cachedSchedules.get(url);
+    }
+
+    private synchronized void forgetCachedSchedule(String url) {
+        cachedSchedules.remove(url);
+    }
+
+    /**
+     * Keeps the validators and a compact copy of a full response, if it had any validators.
+     */
+    private synchronized void storeValidators(String url, ScheduleResponse response, List<GameWeekDTO> weeks) {
+        if (response == null || (response.etag() == null && response.lastModified() < 0)) {
+            cachedSchedules.remove(url);
+            return;
+        }
+        try {
+            cachedSchedules.put(url, new CachedSchedule(response.etag(), response.lastModified(),
+                    scheduleStreamParser.toCompactDocument(weeks)));
+        } catch (IOException e) {
+            log.warn("Could not keep schedule for conditional requests: {}", e.getMessage());
+            cachedSchedules.remove(url);
+        }
+    }
+
+    /**
+     * Parses the kept copy of an unchanged schedule into new game objects.
+     */
+    private Map<LocalDate, List<GameDTO>> readCachedSchedule(String url, CachedSchedule cached) {
+        try {
+            return groupByDate(scheduleStreamParser.parse(new ByteArrayInputStream(cached.document())));
+        } catch (IOException e) {
+            forgetCachedSchedule(url);
+            throw new NhlApiUnavailableException("Kept schedule could not be read: " + url, e);
+        }
+    }
+
+    private static void addValidators(ClientHttpRequest request, CachedSchedule cached) {
+        if (cached == null) {
+            return;
+        }
+        if (cached.etag() != null) {
+            request.getHeaders().setIfNoneMatch(cached.etag());
+        }
+        if (cached.lastModified() >= 0) {
+            request.getHeaders().setIfModifiedSince(cached.lastModified());
+        }
+    }
+
+    private ScheduleResponse readResponse(ClientHttpResponse response) throws IOException {
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            return new ScheduleResponse(true, null, null, -1);
+        }
+        HttpHeaders headers = response.getHeaders();
+        List<GameWeekDTO> weeks = scheduleStreamParser.parse(response.getBody());
+        return new ScheduleResponse(false, weeks, headers.getETag(), headers.getLastModified());
+    }
+
+    /**
+     * Builds the complete NHL API URL for the specified date.
+     */
+    private String buildApiUrl(LocalDate date) {
+        String formattedDate = date.format(DateTimeFormatter.ISO_DATE);
+        return BASE_URL + API_ENDPOINT + formattedDate;
+    }
+
+    /**
+     * Groups schedule days by date, setting the date on each game.
+     * Days with an unparseable date are skipped.
+     */
+    private Map<LocalDate, List<GameDTO>> groupByDate(List<GameWeekDTO> weeks) {
+        Map<LocalDate, List<GameDTO>> gamesByDate = new LinkedHashMap<>();
+        if (weeks == null) {
+            return gamesByDate;
+        }
+
+        for (GameWeekDTO week : weeks) {
+            LocalDate day;
+            try {
+                day = LocalDate.parse(week.getDate());
+            } catch (Exception e) {
+                log.warn("Skipping schedule day with invalid date: {}", week.getDate());
+                continue;
+            }
+
+            week.getGames().forEach(game -> game.setGameDate(week.getDate()));
+            gamesByDate.put(day, week.getGames());
+        }
+        return gamesByDate;
+    }
+
+    /**
+     * Outcome of one schedule request; weeks are null when the server answered 304.
+     */
+    private record ScheduleResponse(boolean notModified, List<GameWeekDTO> weeks, String etag, long lastModified) {
+    }
+
+    /**
+     * Validators of an earlier response together with its compact schedule document.
+     */
+    private record CachedSchedule(String etag, long lastModified, byte[] document) {
+    }
+}
@@ -0,0 +1,199 @@
+package se.sven.nhldataservice.client;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+import se.sven.nhldataservice.dto.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming parser for the NHL schedule payload.
+ * Reads tokens straight from the response stream and only materializes the
+ * fields used by GameDTO and TeamDTO; every other subtree (broadcasts, odds,
+ * ticket links etc.) is skipped without being buffered.
+ */
+@Component
+public class ScheduleStreamParser {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter compactWriter;
+
+    public ScheduleStreamParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        // Dates as ISO strings and no nulls, so parse reads the document back exactly as the original
+        this.compactWriter = objectMapper.copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .writer()
+                .without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * Parses the gameWeek days of a schedule response.
+     *
+     * @param body the response body, may be null for an empty response
+     * @return schedule days with their games, in response order
+     * @throws IOException if the payload is not a valid schedule document
+     */
+    public List<GameWeekDTO> parse(InputStream body) throws IOException {
+        if (body == null) {
+            return Collections.emptyList();
+        }
+
+        List<GameWeekDTO> weeks = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected schedule object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("gameWeek".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        weeks.add(readGameWeek(parser));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return weeks;
+    }
+
+    /**
+     * Writes parsed schedule days back as a schedule document holding only the
+     * fields this parser reads, so it can later be parsed again into fresh objects.
+     *
+     * @param weeks schedule days as returned by parse
+     * @return the compact schedule document
+     * @throws IOException if the days could not be written
+     */
+    public byte[] toCompactDocument(List<GameWeekDTO> weeks) throws IOException {
+        return compactWriter.writeValueAsBytes(Map.of("gameWeek", weeks));
+    }
+
+    private GameWeekDTO readGameWeek(JsonParser parser) throws IOException {
+        GameWeekDTO week = new GameWeekDTO();
+        List<GameDTO> games = new ArrayList<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "date" -> week.setDate(parser.getValueAsString());
+                case "numberOfGames" -> week.setNumberOfGames(parser.getValueAsInt());
+                case "games" -> {
+                    if (value == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            games.add(readGame(parser));
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        week.setGames(games);
+        return week;
+    }
+
+    private GameDTO readGame(JsonParser parser) throws IOException {
+        GameDTO game = new GameDTO();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> game.setId(parser.getValueAsLong());
+                case "season" -> game.setSeason(parser.getValueAsInt());
+                case "gameType" -> game.setGameType(parser.getValueAsInt());
+                case "venue" -> game.setVenue(readLocalizedName(parser));
+                case "neutralSite" -> game.setNeutralSite(parser.getValueAsString());
+                case "startTimeUTC" -> game.setStartTimeUTC(parser.readValueAs(ZonedDateTime.class));
+                case "easternUTCOffset" -> game.setEasternUTCOffset(parser.getValueAsString());
+                case "venueUTCOffset" -> game.setVenueUTCOffset(parser.getValueAsString());
+                case "venueTimezone" -> game.setVenueTimezone(parser.getValueAsString());
+                case "gameState" -> game.setGameState(parser.getValueAsString());
+                case "gameScheduleState" -> game.setGameScheduleState(parser.getValueAsString());
+                case "awayTeam" -> game.setAwayTeam(readTeam(parser));
+                case "homeTeam" -> game.setHomeTeam(readTeam(parser));
+                case "periodDescriptor" -> game.setPeriodDescriptor(readSmallObject(parser, PeriodDescriptorDTO.class));
+                case "gameOutcome" -> game.setGameOutcome(readSmallObject(parser, GameOutcomeDTO.class));
+                case "gameCenterLink" -> game.setGameCenterLink(parser.getValueAsString());
+                case "clock" -> game.setClock(readSmallObject(parser, ClockDTO.class));
+                default -> parser.skipChildren();
+            }
+        }
+
+        return game;
+    }
+
+    private TeamDTO readTeam(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+
+        TeamDTO team = new TeamDTO();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> team.setId(parser.getValueAsLong());
+                case "abbrev" -> team.setAbbrev(parser.getValueAsString());
+                case "logo" -> team.setLogo(parser.getValueAsString());
+                case "placeName" -> team.setPlaceName(readLocalizedName(parser));
+                case "commonName" -> team.setName(readLocalizedName(parser));
+                case "score" -> team.setScore(parser.getValueAsInt());
+                default -> parser.skipChildren();
+            }
+        }
+        return team;
+    }
+
+    /**
+     * Reads only the "default" value of a localized name, skipping translations.
+     */
+    private LocalizedNameDTO readLocalizedName(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+
+        LocalizedNameDTO name = new LocalizedNameDTO();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("default".equals(field)) {
+                name.setDefaultValue(parser.getValueAsString());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Binds a small flat object directly from the stream; unknown fields are skipped.
+     */
+    private <T> T readSmallObject(JsonParser parser, Class<T> type) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.readValueAs(type);
+    }
+}
@@ -3,10 +3,13 @@ package se.sven.nhldataservice.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
+import se.sven.nhldataservice.util.CircuitBreaker;
+import se.sven.nhldataservice.util.RateLimiter;
 
 import java.time.Duration;
 
@@ -24,6 +27,24 @@ public class AppConfig {
                 .build();
     }
 
+    /**
+     * Global rate limit shared by every call to the NHL API, including backfill workers.
+     */
+    @Bean
+    public RateLimiter nhlApiRateLimiter(@Value("${nhl.api.max-requests-per-second:5}") double permitsPerSecond) {
+        return new RateLimiter(permitsPerSecond);
+    }
+
+    /**
+     * Circuit breaker around the NHL API, so an upstream outage fails fast instead of timing out.
+     */
+    @Bean
+    public CircuitBreaker nhlApiCircuitBreaker(
+            @Value("${nhl.api.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${nhl.api.circuit-breaker.open-duration:PT30S}") Duration openDuration) {
+        return new CircuitBreaker(failureThreshold, openDuration);
+    }
+
     /**
      * Configures ObjectMapper to handle NHL API's date formats and ignore unknown properties.
      */
@@ -0,0 +1,71 @@
+package se.sven.nhldataservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import se.sven.nhldataservice.exception.ApplicationInitializationException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+import static se.sven.nhldataservice.repository.GameBatchRepository.CHANGE_SEQUENCE;
+
+/**
+ * Creates the sequence that game change versions are drawn from, and gives games
+ * stored before versions existed one, so a change feed read from version 0 includes them.
+ * Runs before JPA starts (see {@link SchemaMigrationConfig}), so the sequence exists
+ * before the first game is saved. On PostgreSQL the version column is added here if an
+ * existing game table lacks it; other databases are created from the entities and only
+ * need the sequence. Does nothing once the sequence exists and every game has a version.
+ */
+@Slf4j
+@Component
+public class GameChangeVersionMigration implements InitializingBean {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    public GameChangeVersionMigration(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + CHANGE_SEQUENCE);
+            if (isPostgres() && hasGameTable()) {
+                jdbcTemplate.execute("ALTER TABLE game ADD COLUMN IF NOT EXISTS change_version bigint");
+                int stamped = jdbcTemplate.update(
+                        "UPDATE game SET change_version = nextval('" + CHANGE_SEQUENCE + "') WHERE change_version IS NULL");
+                if (stamped > 0) {
+                    log.info("Assigned change versions to {} stored games", stamped);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to initialize game change versions: {}", e.getMessage(), e);
+            throw new ApplicationInitializationException("Failed to initialize game change versions", e);
+        }
+    }
+
+    private boolean hasGameTable() {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM information_schema.tables"
+                        + " WHERE table_schema = current_schema() AND table_name = 'game')",
+                Boolean.class);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private boolean isPostgres() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not detect database product, skipping game change version stamping: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package se.sven.nhldataservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import se.sven.nhldataservice.exception.ApplicationInitializationException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+
+/**
+ * Converts the game date column of existing PostgreSQL databases from text to DATE.
+ * Schema updates add new tables, columns and indexes but never change a column type,
+ * so databases created while the date was stored as an ISO string keep a varchar column
+ * until this runs. Does nothing once the column is a DATE or on other databases.
+ * Runs when the bean is created, before JPA starts (see {@link SchemaMigrationConfig}),
+ * so queries and schema updates never meet the text column.
+ */
+@Slf4j
+@Component
+public class GameDateColumnMigration implements InitializingBean {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    public GameDateColumnMigration(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!isPostgres()) {
+            return;
+        }
+
+        List<String> types = jdbcTemplate.queryForList(
+                "SELECT data_type FROM information_schema.columns"
+                        + " WHERE table_schema = current_schema() AND table_name = 'game' AND column_name = 'game_date'",
+                String.class);
+        if (types.isEmpty() || "date".equalsIgnoreCase(types.getFirst())) {
+            return;
+        }
+
+        log.info("Converting game.game_date from {} to date...", types.getFirst());
+        try {
+            jdbcTemplate.execute("ALTER TABLE game ALTER COLUMN game_date TYPE date USING game_date::date");
+            log.info("Converted game.game_date to date");
+        } catch (Exception e) {
+            log.error("Failed to convert game.game_date: {}", e.getMessage(), e);
+            throw new ApplicationInitializationException("Failed to migrate game date column", e);
+        }
+    }
+
+    private boolean isPostgres() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not detect database product, skipping game date migration: {}", e.getMessage());
+            return false;
+        }
+    }
+}
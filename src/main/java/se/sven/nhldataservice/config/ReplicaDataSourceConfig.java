@@ -0,0 +1,78 @@
+package se.sven.nhldataservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Adds a read replica when {@code nhl.datasource.replica.url} is set.
+ * Read-only transactions then run on the replica and all other work on the primary
+ * configured under {@code spring.datasource}; reads go to the primary while the
+ * replica lags more than {@code nhl.datasource.replica.max-lag}, and for
+ * {@code nhl.datasource.replica.primary-after-write} after games are saved.
+ * Without a replica URL the default single data source is used.
+ */
+@Configuration
+@ConditionalOnProperty(name = "nhl.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("nhl.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${nhl.datasource.replica.url}") String url,
+                                              @Value("${nhl.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${nhl.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${nhl.datasource.replica.max-lag:PT5S}") Duration maxLag,
+                                               @Value("${nhl.datasource.replica.primary-after-write:PT10S}") Duration primaryAfterWrite) {
+        return new ReplicaLagMonitor(new JdbcTemplate(replicaDataSource), maxLag, primaryAfterWrite);
+    }
+
+    /**
+     * The data source used by JPA and JDBC. The lazy proxy fetches the physical
+     * connection at the first statement, after the transaction's read-only flag is set.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor::isUsable));
+    }
+}
@@ -0,0 +1,97 @@
+package se.sven.nhldataservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+import se.sven.nhldataservice.service.GamesSavedEvent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Checks how far the PostgreSQL read replica lags behind the primary and marks it
+ * unusable while the lag exceeds the limit or the replica cannot be reached.
+ * The replica starts out unusable until the first check has passed.
+ * After games are saved, reads also stay on the primary for a while, so caches
+ * refilled after their invalidation never read rows from before the write.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    /**
+     * Replay lag in seconds; zero when everything received has been replayed,
+     * since the last replay timestamp stops moving while the primary is idle.
+     */
+    static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END""";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+    private final Duration primaryAfterWrite;
+    private final Clock clock;
+
+    private volatile boolean usable;
+    private volatile boolean checked;
+    private volatile Instant primaryUntil = Instant.MIN;
+
+    public ReplicaLagMonitor(JdbcTemplate replicaJdbcTemplate, Duration maxLag, Duration primaryAfterWrite) {
+        this(replicaJdbcTemplate, maxLag, primaryAfterWrite, Clock.systemUTC());
+    }
+
+    public ReplicaLagMonitor(JdbcTemplate replicaJdbcTemplate, Duration maxLag, Duration primaryAfterWrite,
+                             Clock clock) {
+        this.replicaJdbcTemplate = replicaJdbcTemplate;
+        this.maxLag = maxLag;
+        this.primaryAfterWrite = primaryAfterWrite;
+        this.clock = clock;
+    }
+
+    /**
+     * @return true if read-only transactions may use the replica
+     */
+    public boolean isUsable() {
+        return usable && !clock.instant().isBefore(primaryUntil);
+    }
+
+    /**
+     * Keeps reads on the primary until the replica has had time to replay the saved games.
+     * Ordered before the cache listeners of the same event, so no reload that follows
+     * an invalidation can reach the replica within the window.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onGamesSaved(GamesSavedEvent event) {
+        primaryUntil = clock.instant().plus(primaryAfterWrite);
+    }
+
+    @Scheduled(fixedDelayString = "${nhl.datasource.replica.lag-check-interval:PT5S}")
+    public void check() {
+        try {
+            Double seconds = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+            Duration lag = Duration.ofMillis(Math.round((seconds != null ? seconds : 0) * 1000));
+            update(lag.compareTo(maxLag) <= 0, "lag is " + lag);
+        } catch (DataAccessException e) {
+            update(false, "check failed: " + e.getMessage());
+        }
+    }
+
+    private void update(boolean nowUsable, String reason) {
+        if (!checked || nowUsable != usable) {
+            if (nowUsable) {
+                log.info("Routing reads to read replica, {}", reason);
+            } else {
+                log.warn("Routing reads to primary, read replica {}", reason);
+            }
+        }
+        usable = nowUsable;
+        checked = true;
+    }
+}
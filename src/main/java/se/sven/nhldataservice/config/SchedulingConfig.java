@@ -0,0 +1,12 @@
+package se.sven.nhldataservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs such as the live scoreboard poller.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,20 @@
+package se.sven.nhldataservice.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Runs the schema migrations before JPA is initialized.
+ * Hibernate's schema update and every repository query then see the migrated schema,
+ * and no request or scheduled job can reach the database before the migrations are done.
+ */
+@Configuration
+public class SchemaMigrationConfig {
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor schemaMigrationsBeforeJpa() {
+        return new EntityManagerFactoryDependsOnPostProcessor(
+                GameDateColumnMigration.class, GameChangeVersionMigration.class);
+    }
+}
@@ -0,0 +1,87 @@
+package se.sven.nhldataservice.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import se.sven.nhldataservice.dto.BackfillJobResponse;
+import se.sven.nhldataservice.dto.BackfillRequest;
+import se.sven.nhldataservice.service.GameDayCache;
+import se.sven.nhldataservice.service.SeasonBackfillService;
+
+import java.util.List;
+
+/**
+ * REST controller for operational admin endpoints.
+ */
+@Tag(name = "Admin", description = "Operational admin endpoints")
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private final GameDayCache gameDayCache;
+    private final SeasonBackfillService seasonBackfillService;
+
+    @Operation(
+            summary = "Get game day cache statistics",
+            description = "Returns hit, miss and eviction counters for the in-memory historical game day cache"
+    )
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    @GetMapping("/cache/game-days")
+    public ResponseEntity<GameDayCache.CacheStats> getGameDayCacheStats() {
+        return ResponseEntity.ok(gameDayCache.stats());
+    }
+
+    @Operation(
+            summary = "Start a backfill",
+            description = "Loads a season (e.g. 20242025) or an inclusive from/to date range into the database in the background"
+    )
+    @ApiResponse(responseCode = "202", description = "Backfill started")
+    @ApiResponse(responseCode = "400", description = "Invalid season or date range")
+    @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    @ApiResponse(responseCode = "409", description = "Another backfill is already running")
+    @PostMapping("/backfill")
+    public ResponseEntity<BackfillJobResponse> startBackfill(@RequestBody BackfillRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(seasonBackfillService.start(request));
+    }
+
+    @Operation(summary = "List backfill jobs", description = "Returns the most recently started backfill jobs")
+    @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully")
+    @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    @GetMapping("/backfill")
+    public ResponseEntity<List<BackfillJobResponse>> getBackfillJobs() {
+        return ResponseEntity.ok(seasonBackfillService.getRecentJobs());
+    }
+
+    @Operation(summary = "Get backfill job status", description = "Returns progress of a backfill job")
+    @ApiResponse(responseCode = "200", description = "Job found")
+    @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    @ApiResponse(responseCode = "404", description = "Job not found")
+    @GetMapping("/backfill/{id}")
+    public ResponseEntity<BackfillJobResponse> getBackfillJob(@PathVariable Long id) {
+        return ResponseEntity.ok(seasonBackfillService.getJob(id));
+    }
+
+    @Operation(
+            summary = "Resume a backfill job",
+            description = "Continues an interrupted or failed job from its last completed week"
+    )
+    @ApiResponse(responseCode = "202", description = "Backfill resumed")
+    @ApiResponse(responseCode = "400", description = "Job is already completed")
+    @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    @ApiResponse(responseCode = "404", description = "Job not found")
+    @ApiResponse(responseCode = "409", description = "Another backfill is already running")
+    @PostMapping("/backfill/{id}/resume")
+    public ResponseEntity<BackfillJobResponse> resumeBackfill(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(seasonBackfillService.resume(id));
+    }
+}
@@ -1,27 +1,34 @@
 package se.sven.nhldataservice.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import se.sven.nhldataservice.dto.GameChangesDTO;
 import se.sven.nhldataservice.dto.GameDTO;
-import se.sven.nhldataservice.exception.InvalidDateFormatException;
+import se.sven.nhldataservice.service.GameDay;
+import se.sven.nhldataservice.service.GameRangeService;
 import se.sven.nhldataservice.service.GameService;
+import se.sven.nhldataservice.service.LiveGameStream;
+import se.sven.nhldataservice.service.LiveScoreboardService;
+import se.sven.nhldataservice.service.LiveScoreboardService.LiveScoreboard;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.List;
 
 /**
  * REST controller for NHL games with database caching and API fallback.
  */
 @Tag(name = "Games", description = "NHL game data operations")
-@Slf4j
 @RestController
 @RequestMapping("/api/v1/games")
 @RequiredArgsConstructor
@@ -29,36 +36,77 @@ import java.util.List;
 public class GameController {
 
     private final GameService gameService;
+    private final LiveScoreboardService liveScoreboardService;
+    private final GameRangeService gameRangeService;
+    private final LiveGameStream liveGameStream;
 
     @Operation(
             summary = "Get NHL games by date",
-            description = "Retrieves all NHL games for a specific date with database caching and API fallback"
+            description = "Retrieves all NHL games for a specific date with database caching and API fallback. " +
+                    "Today's and upcoming games are served from a snapshot refreshed in the background; " +
+                    "the Age header tells how many seconds old it is."
     )
-    @ApiResponse(responseCode = "200", description = "Games found")
+    @ApiResponse(responseCode = "200", description = "Games found",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = GameDTO.class))))
     @ApiResponse(responseCode = "204", description = "No games found for the specified date")
+    @ApiResponse(responseCode = "304", description = "Games unchanged since the ETag given in If-None-Match")
     @ApiResponse(responseCode = "400", description = "Invalid date format")
     @GetMapping("/{date}")
-    public ResponseEntity<List<GameDTO>> getGames(@PathVariable String date) {
-        LocalDate validatedDate = validateAndParseDate(date);
-        List<GameDTO> games = gameService.getGamesDtoWithFallback(validatedDate);
-        return buildResponse(games, validatedDate);
+    public ResponseEntity<byte[]> getGames(@PathVariable String date, WebRequest request) {
+        LocalDate validatedDate = GameResponses.parseDate(date);
+        if (validatedDate.isBefore(LocalDate.now())) {
+            return GameResponses.build(gameService.getGameDay(validatedDate), validatedDate.toString(), request, null);
+        }
+
+        LiveScoreboard scoreboard = liveScoreboardService.getScoreboard(validatedDate);
+        return GameResponses.build(scoreboard.gameDay(), validatedDate.toString(), request,
+                scoreboard.ageSeconds(Instant.now()));
     }
 
-    private LocalDate validateAndParseDate(String dateString) {
-        try {
-            return LocalDate.parse(dateString, DateTimeFormatter.ISO_LOCAL_DATE);
-        } catch (DateTimeParseException e) {
-            throw new InvalidDateFormatException("Invalid date: " + dateString);
-        }
+    @Operation(
+            summary = "Get NHL games in a date range",
+            description = "Retrieves all NHL games from one date to another, both inclusive, in a single request. " +
+                    "Stored games are read with one query; only uncovered dates are fetched from the NHL API."
+    )
+    @ApiResponse(responseCode = "200", description = "Games found",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = GameDTO.class))))
+    @ApiResponse(responseCode = "204", description = "No games found in the specified range")
+    @ApiResponse(responseCode = "304", description = "Games unchanged since the ETag given in If-None-Match")
+    @ApiResponse(responseCode = "400", description = "Invalid date format, reversed range or range too long")
+    @GetMapping
+    public ResponseEntity<byte[]> getGamesInRange(@RequestParam String from, @RequestParam String to,
+                                                         WebRequest request) {
+        LocalDate fromDate = GameResponses.parseDate(from);
+        LocalDate toDate = GameResponses.parseDate(to);
+        GameDay games = gameRangeService.getGameRange(fromDate, toDate);
+        return GameResponses.build(games, fromDate + " to " + toDate, request, null);
     }
 
-        private ResponseEntity<List<GameDTO>> buildResponse(List<GameDTO> games, LocalDate date) {
-        if (games.isEmpty()) {
-            log.debug("No games found for {}", date);
-            return ResponseEntity.noContent().build();
-        }
+    @Operation(
+            summary = "Get games changed since a version",
+            description = "Change feed for incremental sync. Returns stored games inserted or changed after " +
+                    "the given version, oldest change first. Pass lastVersion from the response as since to " +
+                    "read the next page; a game changed again reappears with its new state."
+    )
+    @ApiResponse(responseCode = "200", description = "Page of changed games, possibly empty",
+            content = @Content(schema = @Schema(implementation = GameChangesDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Negative version or limit out of range")
+    @GetMapping("/changes")
+    public ResponseEntity<GameChangesDTO> getChangedGames(@RequestParam(defaultValue = "0") long since,
+                                                          @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(gameService.findChangedGames(since, limit));
+    }
 
-        log.debug("Returning {} games for {}", games.size(), date);
-        return ResponseEntity.ok(games);
+    @Operation(
+            summary = "Stream live game changes",
+            description = "Server-Sent Events stream of today's games. Starts with a \"games\" event holding " +
+                    "all of today's games, followed by a \"changes\" event with the changed games whenever a " +
+                    "score, period, clock or game state changes. Clients that fall behind are disconnected " +
+                    "and should reconnect."
+    )
+    @ApiResponse(responseCode = "200", description = "Stream opened")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLiveGames() {
+        return liveGameStream.subscribe();
     }
-}
\ No newline at end of file
+}
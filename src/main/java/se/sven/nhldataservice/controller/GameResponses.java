@@ -0,0 +1,139 @@
+package se.sven.nhldataservice.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import se.sven.nhldataservice.exception.InvalidDateFormatException;
+import se.sven.nhldataservice.exception.NhlApiUnavailableException;
+import se.sven.nhldataservice.service.GameDay;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Request parsing and response building shared by the controllers serving games.
+ */
+@Slf4j
+final class GameResponses {
+
+    /**
+     * Set on responses served from stored or last-known data while the NHL API is unavailable.
+     */
+    static final String DEGRADED_HEADER = "X-Data-Degraded";
+
+    private GameResponses() {
+    }
+
+    /**
+     * Parses an ISO date from a path or query parameter.
+     *
+     * @throws InvalidDateFormatException if the value is not a valid ISO date
+     */
+    static LocalDate parseDate(String dateString) {
+        try {
+            return LocalDate.parse(dateString, DateTimeFormatter.ISO_LOCAL_DATE);
+        } catch (DateTimeParseException e) {
+            throw new InvalidDateFormatException("Invalid date: " + dateString);
+        }
+    }
+
+    /**
+     * Writes the pre-encoded JSON of the games as is, so cached days are served
+     * without mapping or serialization, and answers with 304 when the client
+     * already holds the current ETag. Clients accepting gzip get the variant
+     * compressed when the games were loaded.
+     * Snapshot-backed responses also carry an Age header, and responses served
+     * while the NHL API is unavailable are marked as degraded.
+     *
+     * @throws NhlApiUnavailableException if the NHL API is unavailable and nothing is stored,
+     *                                    so the outage is not mistaken for a day without games
+     */
+    static ResponseEntity<byte[]> build(GameDay gameDay, String period, WebRequest request, Long ageSeconds) {
+        if (gameDay.isEmpty()) {
+            if (gameDay.degraded()) {
+                throw new NhlApiUnavailableException("No stored games for " + period + " while NHL API is unavailable");
+            }
+            log.debug("No games found for {}", period);
+            return ResponseEntity.noContent().build();
+        }
+
+        boolean gzip = gameDay.hasGzip() && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? gameDay.gzipEtag() : gameDay.etag();
+
+        boolean notModified = request.checkNotModified(etag);
+        ResponseEntity.BodyBuilder builder = ResponseEntity
+                .status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(etag);
+        if (gameDay.hasGzip()) {
+            builder.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (ageSeconds != null) {
+            builder.header(HttpHeaders.AGE, String.valueOf(ageSeconds));
+        }
+        if (gameDay.degraded()) {
+            builder.header(DEGRADED_HEADER, "true");
+        }
+
+        if (notModified) {
+            log.debug("Games for {} not modified", period);
+            return builder.build();
+        }
+
+        log.debug("Returning {} games for {}", gameDay.games().size(), period);
+        builder.contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gameDay.gzip());
+        }
+        return builder.body(gameDay.json());
+    }
+
+    /**
+     * Checks if an Accept-Encoding header allows gzip, honouring q=0 as a refusal.
+     * An explicit gzip entry decides wherever it appears; "*" only applies without one.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        Boolean wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (coding.equalsIgnoreCase("gzip")) {
+                gzip = isAccepted(tokens);
+            } else if (coding.equals("*")) {
+                wildcard = isAccepted(tokens);
+            }
+        }
+        if (gzip != null) {
+            return gzip;
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    /**
+     * Checks the parameters of one Accept-Encoding entry for a q=0 refusal.
+     */
+    private static boolean isAccepted(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String parameter = tokens[i].trim();
+            if (parameter.startsWith("q=") && isZeroQuality(parameter.substring(2))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZeroQuality(String value) {
+        try {
+            return Double.parseDouble(value.trim()) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package se.sven.nhldataservice.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import se.sven.nhldataservice.dto.StandingDTO;
+import se.sven.nhldataservice.service.StandingsService;
+
+import java.util.List;
+
+/**
+ * REST controller for league standings computed from stored games.
+ */
+@Tag(name = "Standings", description = "NHL standings operations")
+@RestController
+@RequestMapping("/api/v1/standings")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class StandingsController {
+
+    private final StandingsService standingsService;
+
+    @Operation(
+            summary = "Get regular season standings",
+            description = "Returns team records ranked by points, computed from the stored finished regular " +
+                    "season games and kept up to date as games are saved. Defaults to the current season."
+    )
+    @ApiResponse(responseCode = "200", description = "Standings found",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = StandingDTO.class))))
+    @ApiResponse(responseCode = "204", description = "No finished games stored for the season")
+    @ApiResponse(responseCode = "400", description = "Invalid season")
+    @GetMapping
+    public ResponseEntity<List<StandingDTO>> getStandings(@RequestParam(required = false) Integer season) {
+        List<StandingDTO> standings = standingsService.getStandings(season);
+        if (standings.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(standings);
+    }
+}
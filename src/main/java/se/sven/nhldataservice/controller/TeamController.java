@@ -0,0 +1,54 @@
+package se.sven.nhldataservice.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import se.sven.nhldataservice.dto.GameDTO;
+import se.sven.nhldataservice.service.GameDay;
+import se.sven.nhldataservice.service.TeamScheduleService;
+
+import java.time.LocalDate;
+
+/**
+ * REST controller for per-team NHL data served from the database.
+ */
+@Tag(name = "Teams", description = "NHL team data operations")
+@RestController
+@RequestMapping("/api/v1/teams")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class TeamController {
+
+    private final TeamScheduleService teamScheduleService;
+
+    @Operation(
+            summary = "Get stored games of a team",
+            description = "Retrieves the stored home and away games of a team in one season, optionally " +
+                    "narrowed to a date range within it. Without a season, the season of the from date " +
+                    "(or of today) is used. Only stored games are returned; use the backfill to load a season."
+    )
+    @ApiResponse(responseCode = "200", description = "Games found",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = GameDTO.class))))
+    @ApiResponse(responseCode = "204", description = "No stored games for the team in the specified period")
+    @ApiResponse(responseCode = "304", description = "Games unchanged since the ETag given in If-None-Match")
+    @ApiResponse(responseCode = "400", description = "Invalid season or date, reversed range or, without a season, a range spanning two seasons")
+    @GetMapping("/{teamId}/games")
+    public ResponseEntity<byte[]> getTeamGames(@PathVariable Long teamId,
+                                               @RequestParam(required = false) Integer season,
+                                               @RequestParam(required = false) String from,
+                                               @RequestParam(required = false) String to,
+                                               WebRequest request) {
+        LocalDate fromDate = from != null ? GameResponses.parseDate(from) : null;
+        LocalDate toDate = to != null ? GameResponses.parseDate(to) : null;
+        GameDay games = teamScheduleService.getTeamGames(teamId, season, fromDate, toDate);
+        return GameResponses.build(games, "team " + teamId, request, null);
+    }
+}
@@ -0,0 +1,32 @@
+package se.sven.nhldataservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import se.sven.nhldataservice.model.enums.BackfillStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * DTO for backfill job status responses.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillJobResponse {
+
+    private Long id;
+    private LocalDate from;
+    private LocalDate to;
+    private BackfillStatus status;
+    private LocalDate resumeFrom;
+    private int weeksTotal;
+    private int weeksCompleted;
+    private int weeksFailed;
+    private long gamesSaved;
+    private Instant startedAt;
+    private Instant updatedAt;
+    private Instant finishedAt;
+    private String lastError;
+}
@@ -0,0 +1,21 @@
+package se.sven.nhldataservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Request DTO for starting a backfill.
+ * Either a season (e.g. 20242025) or an inclusive from/to date range is given.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillRequest {
+
+    private Integer season;
+    private LocalDate from;
+    private LocalDate to;
+}
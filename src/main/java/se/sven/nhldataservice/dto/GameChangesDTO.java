@@ -0,0 +1,22 @@
+package se.sven.nhldataservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of the game change feed.
+ * Clients pass {@code lastVersion} as {@code since} to read the next page,
+ * and keep polling with it once {@code hasMore} is false.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameChangesDTO {
+
+    private List<GameDTO> games;
+    private long lastVersion;
+    private boolean hasMore;
+}
@@ -0,0 +1,27 @@
+package se.sven.nhldataservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one team's regular season record in the standings.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StandingDTO {
+
+    private Long teamId;
+    private String abbrev;
+    private String name;
+    private int gamesPlayed;
+    private int wins;
+    private int losses;
+    private int otLosses;
+    private int points;
+    private int regulationWins;
+    private int goalsFor;
+    private int goalsAgainst;
+    private int goalDifferential;
+}
@@ -0,0 +1,10 @@
+package se.sven.nhldataservice.exception;
+
+/**
+ * Thrown when a backfill is requested while another backfill job is running.
+ */
+public class BackfillAlreadyRunningException extends RuntimeException {
+    public BackfillAlreadyRunningException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package se.sven.nhldataservice.exception;
+
+/**
+ * Thrown when a backfill job is not found by ID.
+ */
+public class BackfillJobNotFoundException extends RuntimeException {
+    public BackfillJobNotFoundException(String message) {
+        super(message);
+    }
+}
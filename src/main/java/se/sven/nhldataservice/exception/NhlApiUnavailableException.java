@@ -0,0 +1,15 @@
+package se.sven.nhldataservice.exception;
+
+/**
+ * Thrown when the NHL API could not be reached, failed, or is currently
+ * skipped because its circuit breaker is open.
+ */
+public class NhlApiUnavailableException extends RuntimeException {
+    public NhlApiUnavailableException(String message) {
+        super(message);
+    }
+
+    public NhlApiUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
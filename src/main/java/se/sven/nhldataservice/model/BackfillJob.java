@@ -0,0 +1,69 @@
+package se.sven.nhldataservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import se.sven.nhldataservice.model.enums.BackfillStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Progress of an admin-triggered backfill of a date range, stored so that an
+ * interrupted or partly failed job can be resumed where it stopped.
+ * The row of the running job also guards against a second job on any instance,
+ * and its updatedAt serves as the heartbeat of the instance running it.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "backfill_jobs")
+public class BackfillJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate fromDate;
+
+    @Column(nullable = false)
+    private LocalDate toDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BackfillStatus status;
+
+    /**
+     * First week start that is not yet completed; everything before it is done.
+     */
+    private LocalDate resumeFrom;
+
+    private int weeksTotal;
+    private int weeksCompleted;
+    private int weeksFailed;
+    private long gamesSaved;
+
+    private Instant startedAt;
+    private Instant updatedAt;
+    private Instant finishedAt;
+    private String lastError;
+
+    /**
+     * TRUE while the job is running, null otherwise; unique, so only one job can be running.
+     */
+    @Column(unique = true)
+    private Boolean runningSlot;
+
+    public BackfillJob(LocalDate fromDate, LocalDate toDate) {
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.resumeFrom = fromDate;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateRunningSlot() {
+        runningSlot = status == BackfillStatus.RUNNING ? Boolean.TRUE : null;
+    }
+}
@@ -2,6 +2,7 @@ package se.sven.nhldataservice.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -16,12 +17,18 @@ import se.sven.nhldataservice.dto.GameDTO;
 @AllArgsConstructor
 @Data
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_game_game_date", columnList = "gameDate"),
+        @Index(name = "idx_game_home_team_season", columnList = "home_team_id, season"),
+        @Index(name = "idx_game_away_team_season", columnList = "away_team_id, season"),
+        @Index(name = "idx_game_change_version", columnList = "changeVersion")
+})
 public class Game {
     @Id
     private long id;
     private int season;
     private int gameType;
-    private String gameDate;
+    private LocalDate gameDate;
     private String venue;
     private String neutralSite;
     private ZonedDateTime startTimeUTC;
@@ -44,12 +51,18 @@ public class Game {
     private String periodType;
     private Integer maxRegulationPeriods;
 
-    @ManyToOne(cascade = CascadeType.MERGE)
+    // Assigned from game_change_seq by the batch upsert whenever the game is written
+    private Long changeVersion;
+
+    // Hash of the written column values; the batch upsert skips games whose hash is unchanged
+    private Long fingerprint;
+
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.MERGE)
     @JoinColumn(name = "home_team_id")
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private Team homeTeam;
 
-    @ManyToOne(cascade = CascadeType.MERGE)
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.MERGE)
     @JoinColumn(name = "away_team_id")
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private Team awayTeam;
@@ -64,7 +77,7 @@ public class Game {
         this.id = dto.getId();
         this.season = dto.getSeason();
         this.gameType = dto.getGameType();
-        this.gameDate = dto.getGameDate();
+        this.gameDate = dto.getGameDate() != null ? LocalDate.parse(dto.getGameDate()) : null;
         this.venue = dto.getVenue() != null ? dto.getVenue().getDefaultValue() : null;
         this.neutralSite = dto.getNeutralSite();
         this.startTimeUTC = dto.getStartTimeUTC();
@@ -0,0 +1,27 @@
+package se.sven.nhldataservice.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Records that the complete schedule for a date has been fetched from the NHL API
+ * and stored, so later lookups can trust the database instead of calling the API.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "game_date_coverage")
+public class GameDateCoverage {
+    @Id
+    private LocalDate gameDate;
+    private int gameCount;
+    private Instant fetchedAt;
+}
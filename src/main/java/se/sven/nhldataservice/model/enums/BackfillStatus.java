@@ -0,0 +1,11 @@
+package se.sven.nhldataservice.model.enums;
+
+/**
+ * Lifecycle states of a season backfill job.
+ */
+public enum BackfillStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    INTERRUPTED
+}
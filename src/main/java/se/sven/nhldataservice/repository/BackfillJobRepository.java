@@ -0,0 +1,53 @@
+package se.sven.nhldataservice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import se.sven.nhldataservice.model.BackfillJob;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for BackfillJob entities.
+ * Provides access to backfill progress for status reporting and resuming.
+ */
+public interface BackfillJobRepository extends JpaRepository<BackfillJob, Long> {
+
+    /**
+     * Finds the most recently started jobs, newest first.
+     * @return up to 20 jobs
+     */
+    List<BackfillJob> findTop20ByOrderByStartedAtDesc();
+
+    /**
+     * Marks running jobs whose heartbeat is older than the cutoff as interrupted,
+     * since the instance running them is gone.
+     * @param cutoff oldest heartbeat of a job that is still running
+     * @param now time recorded as the jobs' last update
+     * @return the number of jobs marked
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE BackfillJob j SET j.status = se.sven.nhldataservice.model.enums.BackfillStatus.INTERRUPTED,"
+            + " j.runningSlot = null, j.updatedAt = :now"
+            + " WHERE j.status = se.sven.nhldataservice.model.enums.BackfillStatus.RUNNING AND j.updatedAt < :cutoff")
+    int interruptJobsWithHeartbeatBefore(@Param("cutoff") Instant cutoff, @Param("now") Instant now);
+
+    /**
+     * Marks a stopped job as running, unless it is already running or completed.
+     * Fails with a unique violation if another job is running.
+     * @param id the job ID
+     * @param now time recorded as the job's heartbeat
+     * @return 1 if the job was claimed, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE BackfillJob j SET j.status = se.sven.nhldataservice.model.enums.BackfillStatus.RUNNING,"
+            + " j.runningSlot = true, j.updatedAt = :now"
+            + " WHERE j.id = :id AND j.status IN (se.sven.nhldataservice.model.enums.BackfillStatus.FAILED,"
+            + " se.sven.nhldataservice.model.enums.BackfillStatus.INTERRUPTED)")
+    int claimForResume(@Param("id") Long id, @Param("now") Instant now);
+}
@@ -0,0 +1,288 @@
+package se.sven.nhldataservice.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+import se.sven.nhldataservice.model.Game;
+import se.sven.nhldataservice.model.GameDateCoverage;
+import se.sven.nhldataservice.model.Team;
+
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.DatabaseMetaData;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk writes for schedule data using JDBC statement batching and native upserts.
+ * Game, team and coverage ids are assigned by the NHL API, so saving them through JPA
+ * costs a SELECT per row before the write; here each chunk of rows is one batched statement.
+ * PostgreSQL uses {@code INSERT ... ON CONFLICT DO UPDATE}, other databases (H2 in tests)
+ * the standard {@code MERGE} statement. Joins the caller's transaction.
+ * Games carry a fingerprint of their column values; a game whose fingerprint matches
+ * the stored one is not written, so it keeps its change version and causes no row churn.
+ * Every game write draws a new change version from {@code game_change_seq}.
+ */
+@Slf4j
+@Repository
+public class GameBatchRepository {
+
+    static final int CHUNK_SIZE = 500;
+
+    public static final String CHANGE_SEQUENCE = "game_change_seq";
+
+    /**
+     * Advisory lock serializing game writes on PostgreSQL until commit, so change versions
+     * become visible in the order they are drawn and a reader of the change feed never
+     * skips a version that commits late.
+     */
+    private static final long CHANGE_LOCK_KEY = 0x67616d65L;
+
+    private static final List<String> TEAM_COLUMNS = List.of("id", "abbrev", "name", "city", "logo");
+
+    private static final List<String> GAME_COLUMNS = List.of(
+            "id", "season", "game_type", "game_date", "venue", "neutral_site", "start_timeutc",
+            "easternutcoffset", "venueutcoffset", "venue_timezone", "game_state", "game_schedule_state",
+            "home_score", "away_score", "period", "game_center_link", "ot_periods", "time_remaining",
+            "seconds_remaining", "clock_running", "in_intermission", "period_type", "max_regulation_periods",
+            "home_team_id", "away_team_id", "fingerprint");
+
+    private static final List<String> COVERAGE_COLUMNS = List.of("game_date", "game_count", "fetched_at");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+    private final String teamUpsertSql;
+    private final String gameUpsertSql;
+    private final String coverageUpsertSql;
+
+    public GameBatchRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = isPostgres(dataSource);
+        // Team data in a schedule can be partial, so known values are never overwritten with null
+        this.teamUpsertSql = upsertSql(postgres, "team", TEAM_COLUMNS, "id", true);
+        this.gameUpsertSql = versionedUpsertSql(postgres, "game", GAME_COLUMNS, "id", "change_version");
+        this.coverageUpsertSql = upsertSql(postgres, "game_date_coverage", COVERAGE_COLUMNS, "game_date", false);
+    }
+
+    /**
+     * Inserts new teams and updates known ones. Teams with the same id are written once.
+     *
+     * @param teams teams to write
+     * @return number of distinct teams written
+     */
+    public int upsertTeams(Collection<Team> teams) {
+        List<Team> distinct = List.copyOf(teams.stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity(), (first, second) -> second))
+                .values());
+        return upsert(teamUpsertSql, distinct, team -> new Object[]{
+                team.getId(), team.getAbbrev(), team.getName(), team.getCity(), team.getLogo()
+        });
+    }
+
+    /**
+     * Inserts new games and overwrites stored ones whose data changed, stamping each
+     * written game with a new change version. Games identical to the stored ones are
+     * skipped; of games with the same id, the last is written. Referenced teams must
+     * already exist.
+     *
+     * @param games games to write
+     * @return the games inserted and updated, and the number of distinct games skipped
+     */
+    public GameUpsertResult upsertGames(Collection<Game> games) {
+        if (games.isEmpty()) {
+            return GameUpsertResult.NONE;
+        }
+        if (postgres) {
+            // Taken before reading fingerprints, so no other writer can change them until commit
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + CHANGE_LOCK_KEY + ")");
+        }
+
+        // Deduplicated before fingerprinting, so each id is compared, written and counted once
+        Map<Long, Object[]> rowsById = new LinkedHashMap<>();
+        games.forEach(game -> rowsById.put(game.getId(), gameValues(game)));
+        Map<Long, Long> storedFingerprints = findFingerprints(rowsById.keySet());
+
+        Set<Long> inserted = new HashSet<>();
+        Set<Long> updated = new HashSet<>();
+        List<Object[]> changedRows = new ArrayList<>();
+        rowsById.forEach((id, values) -> {
+            if (!storedFingerprints.containsKey(id)) {
+                inserted.add(id);
+            } else if (!Objects.equals(storedFingerprints.get(id), values[values.length - 1])) {
+                updated.add(id);
+            } else {
+                return;
+            }
+            changedRows.add(values);
+        });
+
+        upsert(gameUpsertSql, changedRows, Function.identity());
+        return new GameUpsertResult(inserted, updated, rowsById.size() - changedRows.size());
+    }
+
+    /**
+     * Inserts or replaces coverage markers.
+     *
+     * @param coverage coverage rows to write
+     * @return number of rows written
+     */
+    public int upsertCoverage(Collection<GameDateCoverage> coverage) {
+        return upsert(coverageUpsertSql, coverage, day -> new Object[]{
+                day.getGameDate(), day.getGameCount(), toOffsetDateTime(day.getFetchedAt())
+        });
+    }
+
+    /**
+     * @return stored fingerprints by game id, null for games written before fingerprints existed
+     */
+    private Map<Long, Long> findFingerprints(Collection<Long> ids) {
+        List<Long> remaining = List.copyOf(ids);
+        Map<Long, Long> fingerprints = new HashMap<>();
+        for (int from = 0; from < remaining.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = remaining.subList(from, Math.min(from + CHUNK_SIZE, remaining.size()));
+            String placeholders = chunk.stream().map(id -> "?").collect(Collectors.joining(", "));
+            jdbcTemplate.query("SELECT id, fingerprint FROM game WHERE id IN (" + placeholders + ")",
+                    (RowCallbackHandler) rs -> fingerprints.put(rs.getLong(1), rs.getObject(2, Long.class)),
+                    chunk.toArray());
+        }
+        return fingerprints;
+    }
+
+    private static Object[] gameValues(Game game) {
+        Object[] values = {
+                game.getId(), game.getSeason(), game.getGameType(), game.getGameDate(), game.getVenue(),
+                game.getNeutralSite(), toOffsetDateTime(game.getStartTimeUTC()), game.getEasternUTCOffset(),
+                game.getVenueUTCOffset(), game.getVenueTimezone(), game.getGameState(), game.getGameScheduleState(),
+                game.getHomeScore(), game.getAwayScore(), game.getPeriod(), game.getGameCenterLink(),
+                game.getOtPeriods(), game.getTimeRemaining(), game.getSecondsRemaining(), game.getClockRunning(),
+                game.getInIntermission(), game.getPeriodType(), game.getMaxRegulationPeriods(),
+                game.getHomeTeam() != null ? game.getHomeTeam().getId() : null,
+                game.getAwayTeam() != null ? game.getAwayTeam().getId() : null,
+                null
+        };
+        values[values.length - 1] = fingerprint(Arrays.copyOf(values, values.length - 1));
+        return values;
+    }
+
+    /**
+     * Hashes column values to the first eight bytes of their SHA-256 digest.
+     * Values are hashed by their string form, each prefixed with a null marker.
+     */
+    static long fingerprint(Object[] values) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        for (Object value : values) {
+            digest.update(value == null ? (byte) 0 : (byte) 1);
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0x1f);
+        }
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    private <T> int upsert(String sql, Collection<T> rows, Function<T, Object[]> values) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(sql, rows, CHUNK_SIZE,
+                (ps, row) -> new ArgumentPreparedStatementSetter(values.apply(row)).setValues(ps));
+        return rows.size();
+    }
+
+    /**
+     * Builds the upsert statement for a table. With {@code keepExistingOnNull}, a null
+     * value leaves the stored column unchanged instead of clearing it.
+     */
+    static String upsertSql(boolean postgres, String table, List<String> columns, String key, boolean keepExistingOnNull) {
+        return upsertSql(postgres, table, columns, key, keepExistingOnNull, null);
+    }
+
+    /**
+     * Builds the upsert statement for a table that also sets {@code versionColumn}
+     * to the next value of the change sequence, on insert and on update.
+     */
+    static String versionedUpsertSql(boolean postgres, String table, List<String> columns, String key,
+                                     String versionColumn) {
+        return upsertSql(postgres, table, columns, key, false, versionColumn);
+    }
+
+    private static String upsertSql(boolean postgres, String table, List<String> columns, String key,
+                                    boolean keepExistingOnNull, String versionColumn) {
+        String placeholders = columns.stream().map(column -> "?").collect(Collectors.joining(", "));
+        List<String> updated = columns.stream().filter(column -> !column.equals(key)).toList();
+        String nextVersion = postgres ? "nextval('" + CHANGE_SEQUENCE + "')" : "NEXT VALUE FOR " + CHANGE_SEQUENCE;
+        String insertedColumns = String.join(", ", columns) + (versionColumn != null ? ", " + versionColumn : "");
+
+        if (postgres) {
+            String assignments = updated.stream()
+                    .map(column -> column + " = " + (keepExistingOnNull
+                            ? "COALESCE(EXCLUDED." + column + ", " + table + "." + column + ")"
+                            : "EXCLUDED." + column))
+                    .collect(Collectors.joining(", "));
+            if (versionColumn != null) {
+                placeholders += ", " + nextVersion;
+                assignments += ", " + versionColumn + " = EXCLUDED." + versionColumn;
+            }
+            return "INSERT INTO " + table + " (" + insertedColumns + ") VALUES (" + placeholders + ")"
+                    + " ON CONFLICT (" + key + ") DO UPDATE SET " + assignments;
+        }
+
+        String assignments = updated.stream()
+                .map(column -> column + " = " + (keepExistingOnNull
+                        ? "COALESCE(s." + column + ", t." + column + ")"
+                        : "s." + column))
+                .collect(Collectors.joining(", "));
+        String sourceColumns = columns.stream().map(column -> "s." + column).collect(Collectors.joining(", "));
+        if (versionColumn != null) {
+            assignments += ", " + versionColumn + " = " + nextVersion;
+            sourceColumns += ", " + nextVersion;
+        }
+        return "MERGE INTO " + table + " t USING (VALUES (" + placeholders + ")) s(" + String.join(", ", columns) + ")"
+                + " ON t." + key + " = s." + key
+                + " WHEN MATCHED THEN UPDATE SET " + assignments
+                + " WHEN NOT MATCHED THEN INSERT (" + insertedColumns + ") VALUES (" + sourceColumns + ")";
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            log.info("Using batch upserts for {}", product);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not detect database product, using MERGE for batch upserts: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static OffsetDateTime toOffsetDateTime(ZonedDateTime value) {
+        return value != null ? value.toOffsetDateTime() : null;
+    }
+
+    private static OffsetDateTime toOffsetDateTime(Instant value) {
+        return value != null ? value.atOffset(ZoneOffset.UTC) : null;
+    }
+}
@@ -0,0 +1,33 @@
+package se.sven.nhldataservice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+import se.sven.nhldataservice.model.GameDateCoverage;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for GameDateCoverage entities.
+ * Tracks which dates have a complete schedule stored in the database.
+ */
+public interface GameDateCoverageRepository extends JpaRepository<GameDateCoverage, LocalDate> {
+
+    /**
+     * Counts covered dates within an inclusive range.
+     * @param from first date
+     * @param to last date
+     * @return number of covered dates
+     */
+    @Transactional(readOnly = true)
+    long countByGameDateBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Finds coverage for all dates within an inclusive range.
+     * @param from first date
+     * @param to last date
+     * @return coverage rows for covered dates
+     */
+    @Transactional(readOnly = true)
+    List<GameDateCoverage> findAllByGameDateBetween(LocalDate from, LocalDate to);
+}
@@ -1,8 +1,13 @@
 package se.sven.nhldataservice.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import se.sven.nhldataservice.model.Game;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -10,5 +15,48 @@ import java.util.List;
  * Provides database access for NHL game data with date-based queries.
  */
 public interface GameRepository extends JpaRepository<Game, Long> {
-    List<Game> findAllByGameDate(String date);
+
+    /**
+     * Selects every game column as a {@link GameRow}, with the teams outer joined
+     * so games with a missing team are still read.
+     */
+    String SELECT_ROWS = """
+            SELECT new se.sven.nhldataservice.repository.GameRow(
+                g.id, g.season, g.gameType, g.gameDate, g.venue, g.neutralSite, g.startTimeUTC,
+                g.easternUTCOffset, g.venueUTCOffset, g.venueTimezone, g.gameState, g.gameScheduleState,
+                g.homeScore, g.awayScore, g.period, g.gameCenterLink, g.otPeriods, g.timeRemaining,
+                g.secondsRemaining, g.clockRunning, g.inIntermission, g.periodType, g.maxRegulationPeriods,
+                g.homeTeam.id, g.awayTeam.id, h.abbrev, h.name, h.city, h.logo, a.abbrev, a.name, a.city, a.logo,
+                g.changeVersion)
+            FROM Game g LEFT JOIN g.homeTeam h LEFT JOIN g.awayTeam a""";
+
+    /**
+     * Reads all games of a date as read-only rows, without loading entities.
+     */
+    @Query(SELECT_ROWS + " WHERE g.gameDate = :date")
+    @Transactional(readOnly = true)
+    List<GameRow> findRowsByGameDate(@Param("date") LocalDate date);
+
+    /**
+     * Reads all games in an inclusive date range as read-only rows, ordered by date.
+     */
+    @Query(SELECT_ROWS + " WHERE g.gameDate BETWEEN :from AND :to ORDER BY g.gameDate")
+    @Transactional(readOnly = true)
+    List<GameRow> findRowsByGameDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Reads the games a team plays in a season, home or away, ordered by date.
+     * Each side of the condition is served by its team/season index.
+     */
+    @Query(SELECT_ROWS + " WHERE (g.homeTeam.id = :teamId OR g.awayTeam.id = :teamId)"
+            + " AND g.season = :season ORDER BY g.gameDate, g.id")
+    @Transactional(readOnly = true)
+    List<GameRow> findRowsByTeamAndSeason(@Param("teamId") Long teamId, @Param("season") int season);
+
+    /**
+     * Reads the games changed after a version, in version order.
+     */
+    @Query(SELECT_ROWS + " WHERE g.changeVersion > :since ORDER BY g.changeVersion")
+    @Transactional(readOnly = true)
+    List<GameRow> findRowsChangedSince(@Param("since") long since, Limit limit);
 }
@@ -0,0 +1,46 @@
+package se.sven.nhldataservice.repository;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+/**
+ * Read-only row of a stored game, selected with a constructor expression so reads
+ * skip entity hydration and the persistence context. The values of both teams are
+ * read in the same statement, so mapping a row needs no team lookups.
+ */
+public record GameRow(
+        long id,
+        int season,
+        int gameType,
+        LocalDate gameDate,
+        String venue,
+        String neutralSite,
+        ZonedDateTime startTimeUTC,
+        String easternUTCOffset,
+        String venueUTCOffset,
+        String venueTimezone,
+        String gameState,
+        String gameScheduleState,
+        int homeScore,
+        int awayScore,
+        int period,
+        String gameCenterLink,
+        String otPeriods,
+        String timeRemaining,
+        Integer secondsRemaining,
+        Boolean clockRunning,
+        Boolean inIntermission,
+        String periodType,
+        Integer maxRegulationPeriods,
+        Long homeTeamId,
+        Long awayTeamId,
+        String homeAbbrev,
+        String homeName,
+        String homeCity,
+        String homeLogo,
+        String awayAbbrev,
+        String awayName,
+        String awayCity,
+        String awayLogo,
+        Long changeVersion) {
+}
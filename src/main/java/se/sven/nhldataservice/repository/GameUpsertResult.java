@@ -0,0 +1,35 @@
+package se.sven.nhldataservice.repository;
+
+import java.util.Set;
+
+/**
+ * Outcome of a batch game upsert.
+ *
+ * @param insertedIds ids of games that were not stored before
+ * @param updatedIds ids of stored games whose data changed
+ * @param skipped number of distinct games left unwritten because nothing changed
+ */
+public record GameUpsertResult(Set<Long> insertedIds, Set<Long> updatedIds, int skipped) {
+
+    public static final GameUpsertResult NONE = new GameUpsertResult(Set.of(), Set.of(), 0);
+
+    public GameUpsertResult {
+        insertedIds = Set.copyOf(insertedIds);
+        updatedIds = Set.copyOf(updatedIds);
+    }
+
+    public int inserted() {
+        return insertedIds.size();
+    }
+
+    public int updated() {
+        return updatedIds.size();
+    }
+
+    /**
+     * @return true if the game was inserted or updated
+     */
+    public boolean isWritten(Long gameId) {
+        return gameId != null && (insertedIds.contains(gameId) || updatedIds.contains(gameId));
+    }
+}
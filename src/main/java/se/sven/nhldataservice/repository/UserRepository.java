@@ -10,6 +10,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     /**
      * Finds a user by username.
+     * Not read-only, so it always runs on the primary and authentication sees user changes at once.
      * @param username the username to search for
      * @return Optional containing the user if found
      */
@@ -0,0 +1,46 @@
+package se.sven.nhldataservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import se.sven.nhldataservice.model.GameDateCoverage;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Decides how long a stored "no games on this date" marker can be trusted.
+ * A date that had already passed when it was fetched is unlikely to change and
+ * uses a long TTL; a date fetched ahead of time may still get games scheduled
+ * and uses a short TTL.
+ */
+@Component
+public class EmptyGameDayPolicy {
+
+    private final Duration pastTtl;
+    private final Duration futureTtl;
+
+    public EmptyGameDayPolicy(@Value("${nhl.cache.empty-days.past-ttl:P30D}") Duration pastTtl,
+                              @Value("${nhl.cache.empty-days.future-ttl:PT6H}") Duration futureTtl) {
+        this.pastTtl = pastTtl;
+        this.futureTtl = futureTtl;
+    }
+
+    /**
+     * Checks if the coverage record is a still valid marker for a date without games.
+     *
+     * @param coverage stored coverage for the date
+     * @param now current time
+     * @return true if the date can be answered as empty without calling the API
+     */
+    public boolean isKnownEmpty(GameDateCoverage coverage, Instant now) {
+        if (coverage.getGameCount() != 0 || coverage.getFetchedAt() == null) {
+            return false;
+        }
+
+        LocalDate fetchedOn = LocalDate.ofInstant(coverage.getFetchedAt(), ZoneId.systemDefault());
+        Duration ttl = coverage.getGameDate().isBefore(fetchedOn) ? pastTtl : futureTtl;
+        return coverage.getFetchedAt().plus(ttl).isAfter(now);
+    }
+}
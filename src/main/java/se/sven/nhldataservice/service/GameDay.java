@@ -0,0 +1,161 @@
+package se.sven.nhldataservice.service;
+
+import se.sven.nhldataservice.dto.GameDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable games of one response together with their encoded JSON and strong ETag.
+ * The JSON is produced once when the games are loaded and written to clients as is,
+ * so serving a cached day needs neither mapping nor serialization. The gzip variant
+ * is compressed on first use and then kept, so responses to clients that do not
+ * accept gzip never pay for compression.
+ */
+public final class GameDay {
+
+    private static final int MIN_GZIP_SIZE = 1024;
+
+    private final List<GameDTO> games;
+    private final byte[] json;
+    private final String etag;
+    private final boolean degraded;
+    // Shared with the degraded copy, so the body is compressed at most once
+    private final LazyGzip gzip;
+
+    /**
+     * @param games the games
+     * @param json the serialized response body; shared, must not be modified
+     * @param etag quoted strong entity tag of the JSON
+     * @param degraded true if the NHL API was unavailable and the games are stored or last-known data
+     */
+    public GameDay(List<GameDTO> games, byte[] json, String etag, boolean degraded) {
+        this(games, json, etag, degraded, json.length >= MIN_GZIP_SIZE ? new LazyGzip(json) : null);
+    }
+
+    private GameDay(List<GameDTO> games, byte[] json, String etag, boolean degraded, LazyGzip gzip) {
+        this.games = List.copyOf(games);
+        this.json = json;
+        this.etag = etag;
+        this.degraded = degraded;
+        this.gzip = gzip;
+    }
+
+    /**
+     * @return the games, immutable
+     */
+    public List<GameDTO> games() {
+        return games;
+    }
+
+    /**
+     * @return the serialized response body; shared, must not be modified
+     */
+    public byte[] json() {
+        return json;
+    }
+
+    /**
+     * @return quoted strong entity tag of the JSON
+     */
+    public String etag() {
+        return etag;
+    }
+
+    /**
+     * @return true if the NHL API was unavailable and the games are stored or last-known data
+     */
+    public boolean degraded() {
+        return degraded;
+    }
+
+    public boolean isEmpty() {
+        return games.isEmpty();
+    }
+
+    /**
+     * @return true if the body is large enough to be worth compressing
+     */
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    /**
+     * Returns the gzip-compressed body, compressing it on the first call.
+     *
+     * @return the compressed body; shared, must not be modified
+     * @throws IllegalStateException if the body is too small to be compressed
+     */
+    public byte[] gzip() {
+        if (gzip == null) {
+            throw new IllegalStateException("Body too small to be compressed");
+        }
+        return gzip.get();
+    }
+
+    /**
+     * @return bytes held for the body: the JSON, plus the gzip variant once compressed
+     */
+    public long size() {
+        return json.length + (gzip != null ? gzip.compressedSize() : 0);
+    }
+
+    /**
+     * Strong ETag of the gzip variant; a different representation needs a different strong ETag.
+     */
+    public String gzipEtag() {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    /**
+     * Returns the same games marked as served while the NHL API was unavailable.
+     */
+    public GameDay asDegraded() {
+        return degraded ? this : new GameDay(games, json, etag, true, gzip);
+    }
+
+    /**
+     * Gzip variant of a body, compressed once on first access.
+     */
+    private static final class LazyGzip {
+
+        private final byte[] content;
+        private volatile byte[] compressed;
+
+        LazyGzip(byte[] content) {
+            this.content = content;
+        }
+
+        byte[] get() {
+            byte[] result = compressed;
+            if (result == null) {
+                synchronized (this) {
+                    result = compressed;
+                    if (result == null) {
+                        result = compress(content);
+                        compressed = result;
+                    }
+                }
+            }
+            return result;
+        }
+
+        int compressedSize() {
+            byte[] result = compressed;
+            return result != null ? result.length : 0;
+        }
+
+        private static byte[] compress(byte[] content) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                gzip.write(content);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not compress games", e);
+            }
+            return buffer.toByteArray();
+        }
+    }
+}
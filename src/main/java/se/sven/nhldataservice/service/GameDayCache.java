@@ -0,0 +1,165 @@
+package se.sven.nhldataservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import se.sven.nhldataservice.dto.GameDTO;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-memory cache of mapped games and their ETags for historical dates.
+ * Entries stay until games of their date are saved again, e.g. a corrected score,
+ * or until they are evicted (least recently used first) by the entry limit or the
+ * total weight limit.
+ * Weight is the number of bytes held: the JSON and its gzip variant, which is
+ * compressed before a day is cached so the weight of an entry never changes.
+ * Every invalidation advances a generation; a load that started before an
+ * invalidation is not cached, since it may have read the games from before the save.
+ */
+@Slf4j
+@Component
+public class GameDayCache {
+
+    private final int maxEntries;
+    private final long maxWeight;
+
+    private final LinkedHashMap<LocalDate, GameDay> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentWeight;
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public GameDayCache(@Value("${nhl.cache.game-days.max-entries:400}") int maxEntries,
+                        @Value("${nhl.cache.game-days.max-bytes:16777216}") long maxWeight) {
+        if (maxEntries <= 0 || maxWeight <= 0) {
+            throw new IllegalArgumentException("Game day cache limits must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns the cached games for a date, counting the lookup as a hit or miss.
+     *
+     * @param date the game date
+     * @return cached games with their ETag, or empty if the date is not cached
+     */
+    public synchronized Optional<GameDay> get(LocalDate date) {
+        GameDay gameDay = entries.get(date);
+        if (gameDay == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        return Optional.of(gameDay);
+    }
+
+    /**
+     * Returns the current generation, to be read before loading games that are put afterwards.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Compresses the games for a date, stores them and evicts the least recently
+     * used dates until both limits are respected again.
+     * Nothing is stored if the cache has been invalidated since the load started.
+     *
+     * @param date the game date
+     * @param gameDay games to cache
+     * @param loadedAt the {@link #generation()} read before the games were loaded
+     * @return the games, cached or not
+     */
+    public GameDay put(LocalDate date, GameDay gameDay, long loadedAt) {
+        if (gameDay.hasGzip()) {
+            // Compressed outside the lock and before weighing, so the weight of the entry is final
+            gameDay.gzip();
+        }
+        return store(date, gameDay, loadedAt);
+    }
+
+    private synchronized GameDay store(LocalDate date, GameDay gameDay, long loadedAt) {
+        if (generation != loadedAt) {
+            log.debug("Not caching games for {}: invalidated while loading", date);
+            return gameDay;
+        }
+        if (weightOf(gameDay) > maxWeight) {
+            log.debug("Not caching {} games for {}: exceeds max weight {}", gameDay.games().size(), date, maxWeight);
+            return gameDay;
+        }
+
+        GameDay previous = entries.put(date, gameDay);
+        if (previous != null) {
+            currentWeight -= weightOf(previous);
+        }
+        currentWeight += weightOf(gameDay);
+
+        evictIfNeeded();
+        return gameDay;
+    }
+
+    /**
+     * Removes a date from the cache, e.g. after a correction has been stored.
+     *
+     * @param date the game date to drop
+     */
+    public synchronized void invalidate(LocalDate date) {
+        generation++;
+        GameDay removed = entries.remove(date);
+        if (removed != null) {
+            currentWeight -= weightOf(removed);
+        }
+    }
+
+    /**
+     * Drops the cached dates of the saved games, so the next request reads the stored data.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGamesSaved(GamesSavedEvent event) {
+        event.games().stream()
+                .map(GameDTO::getGameDate)
+                .filter(Objects::nonNull)
+                .map(LocalDate::parse)
+                .distinct()
+                .forEach(this::invalidate);
+    }
+
+    /**
+     * Returns a snapshot of the cache counters for monitoring.
+     */
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits.get(), misses.get(), evictions.get(), entries.size(), currentWeight);
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<LocalDate, GameDay>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || currentWeight > maxWeight) && iterator.hasNext()) {
+            Map.Entry<LocalDate, GameDay> eldest = iterator.next();
+            currentWeight -= weightOf(eldest.getValue());
+            iterator.remove();
+            evictions.incrementAndGet();
+            log.debug("Evicted games for {} from cache", eldest.getKey());
+        }
+    }
+
+    private static long weightOf(GameDay gameDay) {
+        return gameDay.size();
+    }
+
+    /**
+     * Point-in-time cache counters; the weight is in bytes.
+     */
+    public record CacheStats(long hits, long misses, long evictions, int size, long weight) {
+    }
+}
@@ -0,0 +1,48 @@
+package se.sven.nhldataservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import se.sven.nhldataservice.dto.GameDTO;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Builds GameDay values: serializes the games once and derives the ETag from a
+ * SHA-256 hash of exactly the bytes that will be sent. Compression is left to
+ * the GameDay, which does it only when a gzip variant is first needed.
+ */
+@Component
+@RequiredArgsConstructor
+public class GameDayEncoder {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Serializes the games once and wraps them with their JSON and content ETag.
+     *
+     * @param games games to encode
+     * @return the games with their JSON and strong ETag
+     */
+    public GameDay encode(List<GameDTO> games) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(games);
+            return new GameDay(games, json, etagOf(json), false);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize games", e);
+        }
+    }
+
+    private static String etagOf(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -3,16 +3,21 @@ package se.sven.nhldataservice.service;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import se.sven.nhldataservice.dto.GameDTO;
 import se.sven.nhldataservice.model.Game;
+import se.sven.nhldataservice.model.GameDateCoverage;
 import se.sven.nhldataservice.model.Team;
-import se.sven.nhldataservice.repository.GameRepository;
-import se.sven.nhldataservice.repository.TeamRepository;
+import se.sven.nhldataservice.repository.GameBatchRepository;
+import se.sven.nhldataservice.repository.GameUpsertResult;
 
-import java.util.HashMap;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -20,65 +25,81 @@ import java.util.Map;
 @Transactional
 public class GamePersistenceService {
 
-    private final GameRepository gameRepository;
-    private final TeamRepository teamRepository;
+    private final GameBatchRepository gameBatchRepository;
+    private final TeamRegistry teamRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Saves games to database with team caching to avoid duplicate lookups
-     * and ensure proper entity relationships.
+     * Saves the games of several complete days and records each day as covered,
+     * including days without games, in a single transaction.
+     *
+     * @param gamesByDate games grouped by the date they are played
+     * @return how many games were inserted, updated and skipped as unchanged
+     */
+    public GameUpsertResult saveGameWeek(Map<LocalDate, List<GameDTO>> gamesByDate) {
+        if (gamesByDate.isEmpty()) {
+            log.debug("No game days to save");
+            return GameUpsertResult.NONE;
+        }
+
+        List<GameDTO> allGames = gamesByDate.values().stream()
+                .flatMap(List::stream)
+                .toList();
+        GameUpsertResult result = saveGamesDtoToDB(allGames);
+
+        Instant fetchedAt = Instant.now();
+        List<GameDateCoverage> coverage = gamesByDate.entrySet().stream()
+                .map(day -> new GameDateCoverage(day.getKey(), day.getValue().size(), fetchedAt))
+                .toList();
+        gameBatchRepository.upsertCoverage(coverage);
+        log.info("Recorded coverage for {} dates", coverage.size());
+        return result;
+    }
+
+    /**
+     * Saves games and their teams with batched upserts: teams first, so the games'
+     * foreign keys resolve, then the games, each in chunks of batched statements.
+     * Only teams that are new or changed according to the team registry are written,
+     * and only games that are new or differ from the stored data.
+     * Publishes a {@link GamesSavedEvent} with the written games for listeners to pick up after the commit.
      *
      * @param dtos list of games to persist
+     * @return how many games were inserted, updated and skipped as unchanged
      */
-    public void saveGamesDtoToDB(List<GameDTO> dtos) {
+    public GameUpsertResult saveGamesDtoToDB(List<GameDTO> dtos) {
         if (dtos.isEmpty()) {
             log.debug("No games to save");
-            return;
+            return GameUpsertResult.NONE;
         }
 
         log.info("Saving {} games to database", dtos.size());
 
-        Map<Long, Team> teamCache = new HashMap<>();
-
         try {
-            List<Game> gamesToSave = dtos.stream()
-                    .map(dto -> createGameWithCachedTeams(dto, teamCache))
+            List<Game> games = dtos.stream()
+                    .map(Game::new)
+                    .toList();
+            List<Team> teams = games.stream()
+                    .flatMap(game -> Stream.of(game.getHomeTeam(), game.getAwayTeam()))
+                    .filter(Objects::nonNull)
                     .toList();
 
-            gameRepository.saveAll(gamesToSave);
-            log.info("Successfully saved {} games", dtos.size());
+            List<Team> changedTeams = teamRegistry.findChanged(teams);
+            gameBatchRepository.upsertTeams(changedTeams);
+            GameUpsertResult result = gameBatchRepository.upsertGames(games);
+            teamRegistry.registerAfterCommit(changedTeams);
+            List<GameDTO> written = dtos.stream()
+                    .filter(dto -> result.isWritten(dto.getId()))
+                    .toList();
+            if (!written.isEmpty()) {
+                eventPublisher.publishEvent(new GamesSavedEvent(written));
+            }
+            log.info("Saved games: {} inserted, {} updated, {} unchanged; {} new or changed teams",
+                    result.inserted(), result.updated(), result.skipped(), changedTeams.size());
+            return result;
 
         } catch (Exception e) {
             log.error("Failed to save games: {}", e.getMessage(), e);
             throw e;
         }
     }
-
-    private Game createGameWithCachedTeams(GameDTO dto, Map<Long, Team> teamCache) {
-        Game game = new Game(dto);
-
-        if (game.getHomeTeam() != null) {
-            Team homeTeam = getCachedOrSaveTeam(game.getHomeTeam(), teamCache);
-            game.setHomeTeam(homeTeam);
-        }
-
-        if (game.getAwayTeam() != null) {
-            Team awayTeam = getCachedOrSaveTeam(game.getAwayTeam(), teamCache);
-            game.setAwayTeam(awayTeam);
-        }
-
-        return game;
-    }
-
-    private Team getCachedOrSaveTeam(Team team, Map<Long, Team> teamCache) {
-        return teamCache.computeIfAbsent(team.getId(), id ->
-                teamRepository.findById(id)
-                        .orElseGet(() -> saveNewTeam(team))
-        );
-    }
-
-    private Team saveNewTeam(Team team) {
-        Team savedTeam = teamRepository.save(team);
-        log.debug("Saved new team: {} ({})", team.getName(), team.getId());
-        return savedTeam;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,179 @@
+package se.sven.nhldataservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import se.sven.nhldataservice.dto.GameDTO;
+import se.sven.nhldataservice.exception.NhlApiUnavailableException;
+import se.sven.nhldataservice.model.GameDateCoverage;
+import se.sven.nhldataservice.repository.GameDateCoverageRepository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serves games for a date range.
+ * Stored historical games are read with one range query; only past dates that are
+ * neither stored nor known to be empty are fetched from the NHL API, one schedule
+ * week per call. Today and later dates are served from the live scoreboard snapshots,
+ * so range requests share their refreshes instead of calling the NHL API themselves.
+ * If the NHL API is unavailable, the range is returned with what is known, marked as degraded.
+ */
+@Slf4j
+@Service
+public class GameRangeService {
+
+    private static final int DAYS_PER_WEEK = 7;
+
+    private final GameService gameService;
+    private final LiveScoreboardService liveScoreboardService;
+    private final GameDateCoverageRepository gameDateCoverageRepository;
+    private final EmptyGameDayPolicy emptyGameDayPolicy;
+    private final GameDayEncoder gameDayEncoder;
+    private final int maxDays;
+
+    public GameRangeService(GameService gameService,
+                            LiveScoreboardService liveScoreboardService,
+                            GameDateCoverageRepository gameDateCoverageRepository,
+                            EmptyGameDayPolicy emptyGameDayPolicy,
+                            GameDayEncoder gameDayEncoder,
+                            @Value("${nhl.games.range.max-days:31}") int maxDays) {
+        this.gameService = gameService;
+        this.liveScoreboardService = liveScoreboardService;
+        this.gameDateCoverageRepository = gameDateCoverageRepository;
+        this.emptyGameDayPolicy = emptyGameDayPolicy;
+        this.gameDayEncoder = gameDayEncoder;
+        this.maxDays = maxDays;
+    }
+
+    /**
+     * Retrieves all games in an inclusive date range, ordered by date, with their ETag.
+     *
+     * @param from first date
+     * @param to last date
+     * @return games in the range
+     * @throws IllegalArgumentException if a date is missing, the range is reversed or longer than allowed
+     */
+    public GameDay getGameRange(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+
+        LocalDate today = LocalDate.now();
+        LocalDate lastPastDate = to.isBefore(today) ? to : today.minusDays(1);
+
+        Map<LocalDate, List<GameDTO>> gamesByDate = new TreeMap<>();
+        if (!from.isAfter(lastPastDate)) {
+            gamesByDate.putAll(gameService.findStoredGamesBetween(from, lastPastDate));
+        }
+
+        Set<LocalDate> missing = findMissingDates(from, lastPastDate, gamesByDate.keySet());
+        boolean complete = fetchMissingDates(missing, gamesByDate);
+        LocalDate firstLiveDate = from.isAfter(today) ? from : today;
+        if (!firstLiveDate.isAfter(to)) {
+            complete &= addLiveDates(firstLiveDate, to, gamesByDate);
+        }
+
+        GameDay range = gameDayEncoder.encode(gamesByDate.values().stream()
+                .flatMap(List::stream)
+                .toList());
+        return complete ? range : range.asDegraded();
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to dates are required");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > maxDays) {
+            throw new IllegalArgumentException("Date range cannot exceed " + maxDays + " days");
+        }
+    }
+
+    /**
+     * Finds the past dates that need an API call: those without stored games,
+     * unless there is a valid "no games" marker for them.
+     */
+    private Set<LocalDate> findMissingDates(LocalDate from, LocalDate to, Set<LocalDate> storedDates) {
+        if (from.isAfter(to)) {
+            return Set.of();
+        }
+        Map<LocalDate, GameDateCoverage> coverage = gameDateCoverageRepository.findAllByGameDateBetween(from, to)
+                .stream()
+                .collect(Collectors.toMap(GameDateCoverage::getGameDate, Function.identity()));
+        Instant now = Instant.now();
+
+        Set<LocalDate> missing = new TreeSet<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            boolean stored = storedDates.contains(date);
+            GameDateCoverage dateCoverage = coverage.get(date);
+            boolean knownEmpty = dateCoverage != null && emptyGameDayPolicy.isKnownEmpty(dateCoverage, now);
+            if (!stored && !knownEmpty) {
+                missing.add(date);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Fetches one schedule week per run of missing dates, starting at the first
+     * missing date, and takes every missing date the week covers from the result.
+     * Stops at the first failed call.
+     *
+     * @return false if the NHL API was unavailable and some dates could not be filled
+     */
+    private boolean fetchMissingDates(Set<LocalDate> missing, Map<LocalDate, List<GameDTO>> gamesByDate) {
+        LocalDate fetchedUntil = null;
+        int calls = 0;
+        for (LocalDate date : missing) {
+            if (fetchedUntil != null && date.isBefore(fetchedUntil)) {
+                continue;
+            }
+
+            Map<LocalDate, List<GameDTO>> week;
+            try {
+                week = gameService.fetchAndStoreWeek(date).gamesByDate();
+            } catch (NhlApiUnavailableException e) {
+                log.warn("NHL API unavailable, returning range without dates from {}: {}", date, e.getMessage());
+                return false;
+            }
+            calls++;
+            week.forEach((day, games) -> {
+                if (missing.contains(day) && !games.isEmpty()) {
+                    gamesByDate.put(day, games);
+                }
+            });
+            fetchedUntil = date.plusDays(DAYS_PER_WEEK);
+        }
+
+        if (calls > 0) {
+            log.info("Filled {} uncovered dates with {} API calls", missing.size(), calls);
+        }
+        return true;
+    }
+
+    /**
+     * Adds today's and upcoming games from the live scoreboard snapshots.
+     *
+     * @return false if a snapshot is degraded because the NHL API was unavailable
+     */
+    private boolean addLiveDates(LocalDate from, LocalDate to, Map<LocalDate, List<GameDTO>> gamesByDate) {
+        boolean complete = true;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            LiveScoreboardService.LiveScoreboard scoreboard = liveScoreboardService.getScoreboard(date);
+            if (!scoreboard.games().isEmpty()) {
+                gamesByDate.put(date, scoreboard.games());
+            }
+            complete &= !scoreboard.gameDay().degraded();
+        }
+        return complete;
+    }
+}
@@ -0,0 +1,61 @@
+package se.sven.nhldataservice.service;
+
+import se.sven.nhldataservice.dto.GameDTO;
+import se.sven.nhldataservice.repository.GameRow;
+
+import java.util.Set;
+
+/**
+ * The outcome of a finished regular season game, as counted in the standings.
+ *
+ * @param gameId the game ID
+ * @param homeTeamId the home team ID
+ * @param awayTeamId the away team ID
+ * @param homeScore final goals of the home team
+ * @param awayScore final goals of the away team
+ * @param extraTime true if decided in overtime or a shootout, giving the loser a point
+ */
+record GameResult(long gameId, long homeTeamId, long awayTeamId, int homeScore, int awayScore,
+                  boolean extraTime) {
+
+    private static final int REGULAR_SEASON = 2;
+    private static final Set<String> FINAL_STATES = Set.of("FINAL", "OFF");
+    private static final Set<String> EXTRA_TIME_PERIODS = Set.of("OT", "SO");
+
+    boolean homeWon() {
+        return homeScore > awayScore;
+    }
+
+    /**
+     * @return the result of a saved game, or null if it is not a finished regular season game
+     */
+    static GameResult of(GameDTO game) {
+        if (game.getHomeTeam() == null || game.getAwayTeam() == null) {
+            return null;
+        }
+        return of(game.getId(), game.getGameType(), game.getGameState(),
+                game.getHomeTeam().getId(), game.getAwayTeam().getId(),
+                game.getHomeTeam().getScore(), game.getAwayTeam().getScore(),
+                game.getGameOutcome() != null ? game.getGameOutcome().getOtPeriods() : null,
+                game.getPeriodDescriptor() != null ? game.getPeriodDescriptor().getPeriodType() : null);
+    }
+
+    /**
+     * @return the result of a stored game, or null if it is not a finished regular season game
+     */
+    static GameResult of(GameRow row) {
+        return of(row.id(), row.gameType(), row.gameState(), row.homeTeamId(), row.awayTeamId(),
+                row.homeScore(), row.awayScore(), row.otPeriods(), row.periodType());
+    }
+
+    private static GameResult of(long gameId, int gameType, String gameState, Long homeTeamId, Long awayTeamId,
+                                 int homeScore, int awayScore, String otPeriods, String periodType) {
+        if (gameType != REGULAR_SEASON || gameState == null || !FINAL_STATES.contains(gameState)
+                || homeTeamId == null || awayTeamId == null || homeScore == awayScore) {
+            return null;
+        }
+        boolean extraTime = (periodType != null && EXTRA_TIME_PERIODS.contains(periodType))
+                || (otPeriods != null && !otPeriods.isBlank() && !otPeriods.equals("0"));
+        return new GameResult(gameId, homeTeamId, awayTeamId, homeScore, awayScore, extraTime);
+    }
+}
@@ -1,55 +1,85 @@
 package se.sven.nhldataservice.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.client.RestClientException;
+import se.sven.nhldataservice.client.NhlApiClient;
 import se.sven.nhldataservice.dto.*;
+import se.sven.nhldataservice.exception.NhlApiUnavailableException;
 import se.sven.nhldataservice.model.*;
 import se.sven.nhldataservice.repository.*;
+import se.sven.nhldataservice.util.SingleFlight;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class GameService {
 
+    static final int MAX_CHANGES_PAGE_SIZE = 1000;
+
     private final GameRepository gameRepository;
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final NhlApiClient nhlApiClient;
     private final GamePersistenceService gamePersistenceService;
+    private final GameDayCache gameDayCache;
+    private final GameDateCoverageRepository gameDateCoverageRepository;
+    private final EmptyGameDayPolicy emptyGameDayPolicy;
+    private final GameDayEncoder gameDayEncoder;
 
-    private static final String BASE_URL = "https://api-web.nhle.com";
-    private static final String API_ENDPOINT = "/v1/schedule/";
-    private static final int JSON_PREVIEW_LENGTH = 200;
+    private final SingleFlight<LocalDate, StoredWeek> inFlightFetches = new SingleFlight<>();
 
     /**
      * Retrieves NHL games for a given date with caching strategy.
-     * Uses database cache for historical games, always fetches fresh data for today's games.
+     * Historical games are served from the in-memory day cache, then the database,
+     * while today's games are always fetched fresh.
      *
      * @param date the date to retrieve games for
      * @return list of games for the specified date
      */
-    @Transactional
     public List<GameDTO> getGamesDtoWithFallback(LocalDate date) {
+        return getGameDay(date).games();
+    }
+
+    /**
+     * Retrieves NHL games for a given date together with their content ETag.
+     * For cached historical dates the ETag is stored with the entry, so answering
+     * a conditional request needs no mapping or serialization.
+     * If the NHL API is unavailable, stored games are returned marked as degraded
+     * rather than an empty result that would look like a day without games.
+     * Not transactional itself: in-memory hits should not open a transaction,
+     * repository reads and persistence run in their own transactions.
+     *
+     * @param date the date to retrieve games for
+     * @return games for the specified date with their ETag
+     */
+    public GameDay getGameDay(LocalDate date) {
         if (date == null) {
             throw new IllegalArgumentException("Date cannot be null");
         }
         if (shouldFetchFromApi(date)) {
+            if (isKnownEmptyDate(date)) {
+                return gameDayEncoder.encode(Collections.emptyList());
+            }
             log.info("Fetching directly from API for {}", date);
-            return fetchAndCacheGames(date);
+            try {
+                return gameDayEncoder.encode(fetchAndCacheGames(date));
+            } catch (NhlApiUnavailableException e) {
+                log.warn("NHL API unavailable for {}, serving stored games: {}", date, e.getMessage());
+                return gameDayEncoder.encode(findStoredGames(date)).asDegraded();
+            }
         }
 
-        return getCachedGamesOrFetchFromApi(date);
+        return gameDayCache.get(date)
+                .orElseGet(() -> loadHistoricalGames(date));
     }
 
     /**
@@ -61,180 +91,233 @@ public class GameService {
     }
 
     /**
-     * Attempts to retrieve games from database cache, falls back to API if not found.
+     * Loads a historical date from database or API and keeps the result in the day cache.
+     * Empty results are not cached; those dates are answered by their stored marker.
+     * A failed API call gives an empty degraded result, which is not cached either.
      */
-    private List<GameDTO> getCachedGamesOrFetchFromApi(LocalDate date) {
-        String dateString = date.format(DateTimeFormatter.ISO_LOCAL_DATE);
-        List<Game> cachedGames = gameRepository.findAllByGameDate(dateString);
-
-        if (!cachedGames.isEmpty()) {
-            List<GameDTO> dtos = cachedGames.stream()
-                    .map(this::mapGameToDTO)
-                    .toList();
-            log.info("Returning {} games from database for {}", dtos.size(), date);
-            return dtos;
+    private GameDay loadHistoricalGames(LocalDate date) {
+        long generation = gameDayCache.generation();
+        GameDay gameDay;
+        try {
+            gameDay = gameDayEncoder.encode(getCachedGamesOrFetchFromApi(date));
+        } catch (NhlApiUnavailableException e) {
+            log.warn("NHL API unavailable for {}: {}", date, e.getMessage());
+            return gameDayEncoder.encode(Collections.emptyList()).asDegraded();
+        }
+        if (gameDay.isEmpty()) {
+            return gameDay;
         }
+        return gameDayCache.put(date, gameDay, generation);
+    }
 
-        return fetchAndCacheGames(date);
+    /**
+     * Checks for a stored, still valid marker saying the date has no games.
+     */
+    private boolean isKnownEmptyDate(LocalDate date) {
+        boolean knownEmpty = gameDateCoverageRepository.findById(date)
+                .filter(coverage -> emptyGameDayPolicy.isKnownEmpty(coverage, Instant.now()))
+                .isPresent();
+        if (knownEmpty) {
+            log.info("No games on {} according to stored schedule", date);
+        }
+        return knownEmpty;
     }
 
     /**
-     * Fetches games from API and caches them if they're not today's games.
+     * Attempts to retrieve games from database cache, falls back to API if not found.
+     * A date with a valid "no games" marker is answered without calling the API.
      */
-    private List<GameDTO> fetchAndCacheGames(LocalDate date) {
-        List<GameDTO> dtos = fetchGamesFromApi(date);
+    private List<GameDTO> getCachedGamesOrFetchFromApi(LocalDate date) {
+        if (isKnownEmptyDate(date)) {
+            return Collections.emptyList();
+        }
 
-        if (!dtos.isEmpty() && !shouldFetchFromApi(date)) {
-            gamePersistenceService.saveGamesDtoToDB(dtos);
-            log.info("Saved {} games to database for {}", dtos.size(), date);
+        List<GameDTO> storedGames = findStoredGames(date);
+        if (!storedGames.isEmpty()) {
+            log.info("Returning {} games from database for {}", storedGames.size(), date);
+            return storedGames;
         }
 
-        return dtos.stream()
-                .filter(game -> {
-                    try {
-                        LocalDate gameDate = LocalDate.parse(game.getGameDate());
-                        return gameDate.equals(date);
-                    } catch (Exception e) {
-                        return false;
-                    }
-                })
+        return fetchAndCacheGames(date);
+    }
+
+    private List<GameDTO> findStoredGames(LocalDate date) {
+        return gameRepository.findRowsByGameDate(date).stream()
+                .map(this::mapRowToDTO)
                 .toList();
     }
 
     /**
-     * Fetches games from NHL API and returns as DTOs.
+     * Reads stored games for an inclusive date range with a single range query.
+     * Dates without stored games are absent from the result.
+     *
+     * @param from first date
+     * @param to last date
+     * @return stored games grouped by date, in date order
      */
-    private List<GameDTO> fetchGamesFromApi(LocalDate date) {
-        String url = buildApiUrl(date);
-        log.info("Calling NHL API: {}", url);
+    public Map<LocalDate, List<GameDTO>> findStoredGamesBetween(LocalDate from, LocalDate to) {
+        List<GameRow> rows = gameRepository.findRowsByGameDateBetween(from, to);
 
-        try {
-            String jsonResponse = restTemplate.getForObject(url, String.class);
-            return parseJsonToGameDTOs(jsonResponse);
-        } catch (RestClientException e) {
-            log.error("Error during API call: {}", e.getMessage());
-            return Collections.emptyList();
+        Map<LocalDate, List<GameDTO>> gamesByDate = new TreeMap<>();
+        for (GameRow row : rows) {
+            gamesByDate.computeIfAbsent(row.gameDate(), day -> new ArrayList<>())
+                    .add(mapRowToDTO(row));
         }
+        log.info("Returning {} games from database for {} to {}", rows.size(), from, to);
+        return gamesByDate;
     }
 
     /**
-     * Builds the complete NHL API URL for the specified date.
+     * Reads the stored games of one team, home or away, in a season.
+     * Games are picked by their stored season, so playoffs played outside the
+     * usual months still belong to the season they were played in.
+     *
+     * @param teamId the team ID
+     * @param season season id (e.g. 20242025)
+     * @return stored games of the team, in date order
      */
-    private String buildApiUrl(LocalDate date) {
-        String formattedDate = date.format(DateTimeFormatter.ISO_DATE);
-        return BASE_URL + API_ENDPOINT + formattedDate;
+    public List<GameDTO> findStoredTeamGames(Long teamId, int season) {
+        List<GameDTO> games = gameRepository.findRowsByTeamAndSeason(teamId, season).stream()
+                .map(this::mapRowToDTO)
+                .toList();
+        log.info("Returning {} games from database for team {} in season {}", games.size(), teamId, season);
+        return games;
     }
 
     /**
-     * Parses NHL API JSON response into GameDTO objects.
-     * Handles the nested gameWeek structure from the API.
+     * Reads one page of the change feed: the stored games changed after a version,
+     * in version order.
+     *
+     * @param since the last version the client has seen, 0 for everything
+     * @param limit maximum number of games in the page
+     * @return the changed games with the version to continue from
+     * @throws IllegalArgumentException if since is negative or the limit is out of range
      */
-    private List<GameDTO> parseJsonToGameDTOs(String json) {
-        try {
-            logJsonPreview(json);
-
-            ScheduleResponseDTO scheduleResponse = objectMapper.readValue(json, ScheduleResponseDTO.class);
-            List<GameDTO> allGames = extractGamesFromSchedule(scheduleResponse);
+    public GameChangesDTO findChangedGames(long since, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("Since version must not be negative");
+        }
+        if (limit < 1 || limit > MAX_CHANGES_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_CHANGES_PAGE_SIZE);
+        }
 
-            log.info("Found {} games from API", allGames.size());
-            return allGames;
+        List<GameRow> rows = gameRepository.findRowsChangedSince(since, Limit.of(limit + 1));
+        boolean hasMore = rows.size() > limit;
+        List<GameRow> page = hasMore ? rows.subList(0, limit) : rows;
+        long lastVersion = page.isEmpty() ? since : page.getLast().changeVersion();
 
-        } catch (Exception e) {
-            log.error("JSON parsing failed: {}", e.getMessage());
-            return Collections.emptyList();
-        }
+        log.debug("Returning {} games changed after version {}", page.size(), since);
+        return new GameChangesDTO(page.stream().map(this::mapRowToDTO).toList(), lastVersion, hasMore);
     }
 
-    private void logJsonPreview(String json) {
-        log.debug("Processing JSON response (first {} characters): {}",
-                JSON_PREVIEW_LENGTH,
-                json.length() > JSON_PREVIEW_LENGTH
-                        ? json.substring(0, JSON_PREVIEW_LENGTH) + "..."
-                        : json);
+    /**
+     * Fetches the schedule week starting at the date from the NHL API and stores it.
+     * Used by the season backfill; shares in-flight calls with regular requests.
+     *
+     * @param weekStart first date of the week
+     * @return games of the week grouped by date, with how many of them were written
+     * @throws NhlApiUnavailableException if the NHL API call failed or was skipped
+     */
+    public StoredWeek fetchAndStoreWeek(LocalDate weekStart) {
+        if (weekStart == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        return inFlightFetches.execute(weekStart, () -> fetchAndStoreWeekOnce(weekStart));
     }
 
     /**
-     * Extracts all games from the NHL API's nested gameWeek structure.
+     * Fetches games from API and caches them if they're not today's games.
+     * Concurrent requests for the same date share one API call and one save.
      */
-    private List<GameDTO> extractGamesFromSchedule(ScheduleResponseDTO scheduleResponse) {
-        List<GameDTO> allGames = new ArrayList<>();
-
-        Optional.ofNullable(scheduleResponse.getGameWeek())
-                .ifPresent(gameWeeks -> gameWeeks.forEach(week ->
-                        addGamesFromWeek(week, allGames)));
-
-        return allGames;
+    private List<GameDTO> fetchAndCacheGames(LocalDate date) {
+        return fetchAndStoreWeek(date).gamesByDate().getOrDefault(date, Collections.emptyList());
     }
 
     /**
-     * Adds games from a single week to the master games list, setting the date for each game.
+     * Fetches the schedule week starting at the date and stores every completed day
+     * in it, so later requests for the other days of the week are served locally.
+     * Upcoming days without games are stored as empty markers; upcoming games are not stored.
      */
-    private void addGamesFromWeek(GameWeekDTO week, List<GameDTO> allGames) {
-        Optional.ofNullable(week.getGames())
-                .ifPresent(games -> games.forEach(game -> {
-                    game.setGameDate(week.getDate());
-                    allGames.add(game);
-                }));
+    private StoredWeek fetchAndStoreWeekOnce(LocalDate date) {
+        Map<LocalDate, List<GameDTO>> gamesByDate = nhlApiClient.fetchScheduleWeek(date);
+
+        Map<LocalDate, List<GameDTO>> daysToStore = new LinkedHashMap<>();
+        gamesByDate.forEach((day, games) -> {
+            if (!shouldFetchFromApi(day) || games.isEmpty()) {
+                daysToStore.put(day, games);
+            }
+        });
+
+        GameUpsertResult saved = GameUpsertResult.NONE;
+        if (!daysToStore.isEmpty()) {
+            saved = gamePersistenceService.saveGameWeek(daysToStore);
+            log.info("Saved {} days of games to database starting {}", daysToStore.size(), date);
+        }
+
+        return new StoredWeek(gamesByDate, saved);
     }
 
     /**
-     * Converts database Game entity to API response DTO format.
+     * Converts a stored game row to API response DTO format.
      */
-    private GameDTO mapGameToDTO(Game game) {
+    private GameDTO mapRowToDTO(GameRow row) {
         GameDTO dto = new GameDTO();
 
-        setBasicGameData(dto, game);
-        setVenueData(dto, game);
-        setTeamData(dto, game);
-        setPeriodData(dto, game);
-        setGameOutcomeData(dto, game);
-        setClockData(dto, game);
+        setBasicGameData(dto, row);
+        setVenueData(dto, row);
+        setTeamData(dto, row);
+        setPeriodData(dto, row);
+        setGameOutcomeData(dto, row);
+        setClockData(dto, row);
 
         return dto;
     }
 
     /**
-     * Maps basic game information from entity to DTO.
+     * Maps basic game information from row to DTO.
      */
-    private void setBasicGameData(GameDTO dto, Game game) {
-        dto.setId(game.getId());
-        dto.setSeason(game.getSeason());
-        dto.setGameType(game.getGameType());
-        dto.setGameDate(game.getGameDate());
-        dto.setNeutralSite(game.getNeutralSite());
-        dto.setStartTimeUTC(game.getStartTimeUTC());
-        dto.setEasternUTCOffset(game.getEasternUTCOffset());
-        dto.setVenueUTCOffset(game.getVenueUTCOffset());
-        dto.setVenueTimezone(game.getVenueTimezone());
-        dto.setGameState(game.getGameState());
-        dto.setGameScheduleState(game.getGameScheduleState());
-        dto.setGameCenterLink(game.getGameCenterLink());
+    private void setBasicGameData(GameDTO dto, GameRow row) {
+        dto.setId(row.id());
+        dto.setSeason(row.season());
+        dto.setGameType(row.gameType());
+        dto.setGameDate(row.gameDate() != null ? row.gameDate().toString() : null);
+        dto.setNeutralSite(row.neutralSite());
+        dto.setStartTimeUTC(row.startTimeUTC());
+        dto.setEasternUTCOffset(row.easternUTCOffset());
+        dto.setVenueUTCOffset(row.venueUTCOffset());
+        dto.setVenueTimezone(row.venueTimezone());
+        dto.setGameState(row.gameState());
+        dto.setGameScheduleState(row.gameScheduleState());
+        dto.setGameCenterLink(row.gameCenterLink());
     }
 
     /**
      * Maps venue information, creating LocalizedNameDTO structure expected by API consumers.
      */
-    private void setVenueData(GameDTO dto, Game game) {
-        dto.setVenue(createLocalizedNameDTO(game.getVenue()));
+    private void setVenueData(GameDTO dto, GameRow row) {
+        dto.setVenue(createLocalizedNameDTO(row.venue()));
     }
 
     /**
      * Maps team data including current scores from the game.
+     * Team values come from the row, read in the same statement as the game.
      */
-    private void setTeamData(GameDTO dto, Game game) {
-        dto.setHomeTeam(mapTeamToDTO(game.getHomeTeam(), game.getHomeScore()));
-        dto.setAwayTeam(mapTeamToDTO(game.getAwayTeam(), game.getAwayScore()));
+    private void setTeamData(GameDTO dto, GameRow row) {
+        dto.setHomeTeam(mapTeamToDTO(row.homeTeamId(), row.homeAbbrev(), row.homeName(), row.homeCity(),
+                row.homeLogo(), row.homeScore()));
+        dto.setAwayTeam(mapTeamToDTO(row.awayTeamId(), row.awayAbbrev(), row.awayName(), row.awayCity(),
+                row.awayLogo(), row.awayScore()));
     }
 
     /**
      * Maps period information if game has started.
      */
-    private void setPeriodData(GameDTO dto, Game game) {
-        if (game.getPeriod() > 0 || game.getPeriodType() != null) {
+    private void setPeriodData(GameDTO dto, GameRow row) {
+        if (row.period() > 0 || row.periodType() != null) {
             PeriodDescriptorDTO periodDescriptor = new PeriodDescriptorDTO();
-            periodDescriptor.setNumber(game.getPeriod());
-            periodDescriptor.setPeriodType(game.getPeriodType());
-            periodDescriptor.setMaxRegulationPeriods(game.getMaxRegulationPeriods());
+            periodDescriptor.setNumber(row.period());
+            periodDescriptor.setPeriodType(row.periodType());
+            periodDescriptor.setMaxRegulationPeriods(row.maxRegulationPeriods());
             dto.setPeriodDescriptor(periodDescriptor);
         }
     }
@@ -242,10 +325,10 @@ public class GameService {
     /**
      * Maps overtime/shootout outcome data if available.
      */
-    private void setGameOutcomeData(GameDTO dto, Game game) {
-        if (game.getOtPeriods() != null) {
+    private void setGameOutcomeData(GameDTO dto, GameRow row) {
+        if (row.otPeriods() != null) {
             GameOutcomeDTO gameOutcome = new GameOutcomeDTO();
-            gameOutcome.setOtPeriods(game.getOtPeriods());
+            gameOutcome.setOtPeriods(row.otPeriods());
             dto.setGameOutcome(gameOutcome);
         }
     }
@@ -253,32 +336,32 @@ public class GameService {
     /**
      * Maps live game clock data if available (for ongoing games).
      */
-    private void setClockData(GameDTO dto, Game game) {
-        if (game.getTimeRemaining() != null || game.getSecondsRemaining() != null) {
+    private void setClockData(GameDTO dto, GameRow row) {
+        if (row.timeRemaining() != null || row.secondsRemaining() != null) {
             ClockDTO clock = new ClockDTO();
-            clock.setTimeRemaining(game.getTimeRemaining());
-            clock.setSecondsRemaining(game.getSecondsRemaining());
-            clock.setRunning(game.getClockRunning());
-            clock.setInIntermission(game.getInIntermission());
+            clock.setTimeRemaining(row.timeRemaining());
+            clock.setSecondsRemaining(row.secondsRemaining());
+            clock.setRunning(row.clockRunning());
+            clock.setInIntermission(row.inIntermission());
             dto.setClock(clock);
         }
     }
 
     /**
-     * Converts Team entity to TeamDTO with score information.
+     * Converts stored team values to TeamDTO with score information.
      */
-    private TeamDTO mapTeamToDTO(Team team, int score) {
-        if (team == null) {
+    private TeamDTO mapTeamToDTO(Long teamId, String abbrev, String name, String city, String logo, int score) {
+        if (teamId == null) {
             return null;
         }
 
         TeamDTO dto = new TeamDTO();
-        dto.setId(team.getId());
-        dto.setAbbrev(team.getAbbrev());
-        dto.setLogo(team.getLogo());
+        dto.setId(teamId);
+        dto.setAbbrev(abbrev);
+        dto.setLogo(logo);
         dto.setScore(score);
-        dto.setPlaceName(createLocalizedNameDTO(team.getCity()));
-        dto.setName(createLocalizedNameDTO(team.getName()));
+        dto.setPlaceName(createLocalizedNameDTO(city));
+        dto.setName(createLocalizedNameDTO(name));
 
         return dto;
     }
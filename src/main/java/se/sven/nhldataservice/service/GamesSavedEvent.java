@@ -0,0 +1,19 @@
+package se.sven.nhldataservice.service;
+
+import se.sven.nhldataservice.dto.GameDTO;
+
+import java.util.List;
+
+/**
+ * Published by {@link GamePersistenceService} when games have been written.
+ * Listeners that keep derived data should react after the commit, so they never
+ * see games of a transaction that is rolled back.
+ *
+ * @param games the saved games, immutable
+ */
+public record GamesSavedEvent(List<GameDTO> games) {
+
+    public GamesSavedEvent {
+        games = List.copyOf(games);
+    }
+}
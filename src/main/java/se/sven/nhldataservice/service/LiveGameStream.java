@@ -0,0 +1,187 @@
+package se.sven.nhldataservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes live game changes to Server-Sent Events subscribers.
+ * A subscriber first gets today's games as a "games" event, then a "changes" event
+ * with the changed games whenever the live scoreboard poller sees a change.
+ * Each change is serialized once and shared by all subscribers. Every subscriber
+ * has its own bounded buffer drained by a virtual thread; one that falls that far
+ * behind is disconnected, and gets a fresh "games" event when it reconnects.
+ */
+@Slf4j
+@Component
+public class LiveGameStream {
+
+    static final String GAMES_EVENT = "games";
+    static final String CHANGES_EVENT = "changes";
+
+    private final LiveScoreboardService liveScoreboardService;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final Duration heartbeatInterval;
+    private final Duration timeout;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public LiveGameStream(LiveScoreboardService liveScoreboardService,
+                          ObjectMapper objectMapper,
+                          @Value("${nhl.live.stream.buffer-size:16}") int bufferSize,
+                          @Value("${nhl.live.stream.heartbeat-interval:PT15S}") Duration heartbeatInterval,
+                          @Value("${nhl.live.stream.timeout:PT30M}") Duration timeout) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Live stream buffer size must be at least 1");
+        }
+        this.liveScoreboardService = liveScoreboardService;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.heartbeatInterval = heartbeatInterval;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Opens a stream for one client, starting with today's games.
+     *
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe() {
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeout.toMillis()), bufferSize);
+        // Register before reading the snapshot, so no change can fall between the two
+        register(subscriber);
+
+        try {
+            GameDay today = liveScoreboardService.getScoreboard(LocalDate.now()).gameDay();
+            subscriber.offer(new Message(GAMES_EVENT, new String(today.json(), StandardCharsets.UTF_8)));
+        } catch (RuntimeException e) {
+            subscriber.close();
+            throw e;
+        }
+        Thread.ofVirtual()
+                .name("live-stream-" + subscriber.hashCode())
+                .start(subscriber::drain);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Fans the changed games out to all subscribers.
+     * Called while the scoreboard is updated, so it only buffers and never blocks.
+     */
+    @EventListener
+    public void onLiveGamesChanged(LiveGamesChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Message message = new Message(CHANGES_EVENT, toJson(event));
+        subscribers.forEach(subscriber -> subscriber.offer(message));
+        log.debug("Pushed {} changed games to {} subscribers", event.games().size(), subscribers.size());
+    }
+
+    /**
+     * @return the number of open streams
+     */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    void register(Subscriber subscriber) {
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+    }
+
+    private String toJson(LiveGamesChangedEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event.games());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    record Message(String name, String data) {
+    }
+
+    /**
+     * One open stream with its buffer of messages not yet sent.
+     */
+    final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> buffer;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Thread drainer;
+
+        Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        /**
+         * Buffers a message, disconnecting the subscriber if the buffer is full.
+         */
+        void offer(Message message) {
+            if (!buffer.offer(message)) {
+                log.info("Disconnecting live stream subscriber: {} messages not consumed", buffer.size());
+                emitter.complete();
+                close();
+            }
+        }
+
+        /**
+         * Sends buffered messages until the stream is closed, with a comment
+         * as heartbeat when idle so broken connections are noticed.
+         */
+        void drain() {
+            drainer = Thread.currentThread();
+            try {
+                while (!closed.get()) {
+                    Message message = buffer.poll(heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    if (message == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event().name(message.name()).data(message.data(), MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Live stream subscriber gone: {}", e.getMessage());
+                close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                Thread thread = drainer;
+                if (thread != null) {
+                    thread.interrupt();
+                }
+            }
+        }
+
+        boolean isClosed() {
+            return closed.get();
+        }
+    }
+}
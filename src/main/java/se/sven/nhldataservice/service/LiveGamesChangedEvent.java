@@ -0,0 +1,20 @@
+package se.sven.nhldataservice.service;
+
+import se.sven.nhldataservice.dto.GameDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published by {@link LiveScoreboardService} when a refresh of today's games
+ * changed the score, period, clock or state of some of them.
+ *
+ * @param date the date of the games
+ * @param games the changed games in their new state, immutable
+ */
+public record LiveGamesChangedEvent(LocalDate date, List<GameDTO> games) {
+
+    public LiveGamesChangedEvent {
+        games = List.copyOf(games);
+    }
+}
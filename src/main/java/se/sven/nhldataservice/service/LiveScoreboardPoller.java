@@ -0,0 +1,30 @@
+package se.sven.nhldataservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refreshes the live scoreboard snapshot on a fixed cadence.
+ * Disable with nhl.live.poller.enabled=false, e.g. in tests.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "nhl.live.poller.enabled", havingValue = "true", matchIfMissing = true)
+public class LiveScoreboardPoller {
+
+    private final LiveScoreboardService liveScoreboardService;
+
+    @Scheduled(initialDelayString = "${nhl.live.poll-initial-delay:PT5S}",
+            fixedDelayString = "${nhl.live.poll-interval:PT30S}")
+    public void pollTodaysGames() {
+        try {
+            liveScoreboardService.refresh();
+        } catch (Exception e) {
+            log.error("Live scoreboard refresh failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package se.sven.nhldataservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import se.sven.nhldataservice.dto.ClockDTO;
+import se.sven.nhldataservice.dto.GameDTO;
+import se.sven.nhldataservice.dto.PeriodDescriptorDTO;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Holds in-memory snapshots of today's and upcoming games, served stale-while-revalidate.
+ * A fresh snapshot is returned as is; a stale one is returned immediately while at most
+ * one background refresh per date fetches new data. Only a missing snapshot, or one
+ * older than the max stale age, makes the request wait for the NHL API.
+ * Today's snapshot is also kept fresh by the background poller, and every refresh
+ * that changes today's games publishes a {@link LiveGamesChangedEvent} with them.
+ */
+@Slf4j
+@Service
+public class LiveScoreboardService {
+
+    private static final int MAX_SNAPSHOTS = 64;
+
+    private final GameService gameService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration freshFor;
+    private final Duration maxStale;
+
+    private final Map<LocalDate, LiveScoreboard> snapshots = new ConcurrentHashMap<>();
+    private final Set<LocalDate> refreshing = ConcurrentHashMap.newKeySet();
+
+    public LiveScoreboardService(GameService gameService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${nhl.live.fresh-for:PT30S}") Duration freshFor,
+                                 @Value("${nhl.live.max-stale:PT15M}") Duration maxStale) {
+        this.gameService = gameService;
+        this.eventPublisher = eventPublisher;
+        this.freshFor = freshFor;
+        this.maxStale = maxStale;
+    }
+
+    /**
+     * Returns the snapshot for today or an upcoming date.
+     * Stale snapshots are served immediately and refreshed in the background;
+     * the returned fetch time tells the caller how old the data is.
+     *
+     * @param date today or a later date
+     * @return the snapshot to serve
+     */
+    public LiveScoreboard getScoreboard(LocalDate date) {
+        LiveScoreboard current = snapshots.get(date);
+        Instant now = Instant.now();
+
+        if (current == null || current.fetchedAt().plus(maxStale).isBefore(now)) {
+            log.debug("No usable snapshot for {}, refreshing on request", date);
+            return refresh(date);
+        }
+        if (current.fetchedAt().plus(freshFor).isBefore(now)) {
+            refreshInBackground(date);
+        }
+        return current;
+    }
+
+    /**
+     * Refreshes today's snapshot. Called by the background poller.
+     *
+     * @return the snapshot now being served
+     */
+    public LiveScoreboard refresh() {
+        return refresh(LocalDate.now());
+    }
+
+    /**
+     * Fetches the games for a date and atomically replaces its snapshot.
+     * A snapshot is stamped with the time its fetch started, and one from a fetch
+     * that started later is never replaced, so a slow refresh cannot roll scores back.
+     * If the NHL API was unavailable, a previous snapshot with games is kept as
+     * last-known-good data, marked as degraded and with its original fetch time.
+     *
+     * @param date the date to refresh
+     * @return the snapshot now being served
+     */
+    public LiveScoreboard refresh(LocalDate date) {
+        Instant startedAt = Instant.now();
+        GameDay gameDay = gameService.getGameDay(date);
+        LiveScoreboard refreshed = new LiveScoreboard(date, gameDay, startedAt);
+        boolean today = date.equals(LocalDate.now());
+
+        LiveScoreboard result = snapshots.compute(date, (day, previous) -> {
+            if (previous != null && previous.fetchedAt().isAfter(startedAt)) {
+                log.debug("Discarding live scoreboard for {}: a newer one was fetched meanwhile", date);
+                return previous;
+            }
+            if (gameDay.degraded() && previous != null && !previous.games().isEmpty()) {
+                log.warn("Keeping last known live scoreboard for {}: NHL API unavailable", date);
+                return new LiveScoreboard(date, previous.gameDay().asDegraded(), previous.fetchedAt());
+            }
+            if (today) {
+                // Published while the date is locked, so events reach subscribers in snapshot order
+                publishChangedGames(date, previous, refreshed);
+            }
+            return refreshed;
+        });
+
+        evictOldSnapshots();
+        log.debug("Live scoreboard for {} has {} games", date, result.games().size());
+        return result;
+    }
+
+    /**
+     * Publishes the games whose live state differs from the replaced snapshot;
+     * all games count as changed when there was none. Listeners run inside the
+     * snapshot update and must only hand the event off, never block.
+     */
+    private void publishChangedGames(LocalDate date, LiveScoreboard previous, LiveScoreboard refreshed) {
+        Map<Long, LiveState> previousStates = previous == null ? Map.of() : previous.games().stream()
+                .collect(Collectors.toMap(GameDTO::getId, LiveState::of, (first, second) -> second));
+        List<GameDTO> changed = refreshed.games().stream()
+                .filter(game -> !LiveState.of(game).equals(previousStates.get(game.getId())))
+                .toList();
+        if (!changed.isEmpty()) {
+            log.debug("{} live games changed for {}", changed.size(), date);
+            eventPublisher.publishEvent(new LiveGamesChangedEvent(date, changed));
+        }
+    }
+
+    private void refreshInBackground(LocalDate date) {
+        if (!refreshing.add(date)) {
+            return;
+        }
+        Thread.ofVirtual()
+                .name("live-refresh-" + date)
+                .start(() -> {
+                    try {
+                        refresh(date);
+                    } catch (Exception e) {
+                        log.error("Background refresh for {} failed: {}", date, e.getMessage());
+                    } finally {
+                        refreshing.remove(date);
+                    }
+                });
+    }
+
+    /**
+     * Drops snapshots for dates that have passed, and the least recently fetched
+     * ones if clients have asked for more upcoming dates than the limit.
+     */
+    private void evictOldSnapshots() {
+        LocalDate today = LocalDate.now();
+        snapshots.keySet().removeIf(day -> day.isBefore(today));
+
+        while (snapshots.size() > MAX_SNAPSHOTS) {
+            snapshots.values().stream()
+                    .min(Comparator.comparing(LiveScoreboard::fetchedAt))
+                    .ifPresent(oldest -> snapshots.remove(oldest.date(), oldest));
+        }
+    }
+
+    /**
+     * The parts of a game that change while it is played.
+     */
+    private record LiveState(String gameState, int homeScore, int awayScore,
+                             PeriodDescriptorDTO periodDescriptor, ClockDTO clock) {
+
+        static LiveState of(GameDTO game) {
+            return new LiveState(game.getGameState(),
+                    game.getHomeTeam() != null ? game.getHomeTeam().getScore() : 0,
+                    game.getAwayTeam() != null ? game.getAwayTeam().getScore() : 0,
+                    game.getPeriodDescriptor(), game.getClock());
+        }
+    }
+
+    /**
+     * Immutable snapshot of one day's games and when they were fetched.
+     */
+    public record LiveScoreboard(LocalDate date, GameDay gameDay, Instant fetchedAt) {
+
+        public List<GameDTO> games() {
+            return gameDay.games();
+        }
+
+        /**
+         * Age of the snapshot in whole seconds, as used by the HTTP Age header.
+         */
+        public long ageSeconds(Instant now) {
+            return Math.max(0, Duration.between(fetchedAt, now).toSeconds());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package se.sven.nhldataservice.service;
+
+import java.time.LocalDate;
+
+/**
+ * An NHL season identified the way the NHL API does, e.g. 20242025.
+ * A season is taken to run from September 1 to June 30, covering preseason and playoffs.
+ *
+ * @param id the season id, start year followed by end year
+ */
+public record Season(int id) {
+
+    private static final int FIRST_MONTH = 9;
+    private static final int LAST_MONTH = 6;
+
+    public Season {
+        int startYear = id / 10000;
+        if (id % 10000 != startYear + 1) {
+            throw new IllegalArgumentException("Season must be given as e.g. 20242025");
+        }
+    }
+
+    /**
+     * Returns the season a date belongs to; summer dates belong to the coming season.
+     *
+     * @param date any date
+     * @return the season containing or following the date
+     */
+    public static Season containing(LocalDate date) {
+        int startYear = date.getMonthValue() > LAST_MONTH ? date.getYear() : date.getYear() - 1;
+        return new Season(startYear * 10000 + startYear + 1);
+    }
+
+    public LocalDate start() {
+        return LocalDate.of(id / 10000, FIRST_MONTH, 1);
+    }
+
+    public LocalDate end() {
+        return LocalDate.of(id % 10000, LAST_MONTH, 30);
+    }
+}
@@ -0,0 +1,370 @@
+package se.sven.nhldataservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import se.sven.nhldataservice.dto.BackfillJobResponse;
+import se.sven.nhldataservice.dto.BackfillRequest;
+import se.sven.nhldataservice.exception.BackfillAlreadyRunningException;
+import se.sven.nhldataservice.exception.BackfillJobNotFoundException;
+import se.sven.nhldataservice.model.BackfillJob;
+import se.sven.nhldataservice.model.enums.BackfillStatus;
+import se.sven.nhldataservice.repository.BackfillJobRepository;
+import se.sven.nhldataservice.repository.GameDateCoverageRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bulk-loads a season or date range into the database, one schedule week at a time.
+ * Weeks are fetched by a bounded number of virtual threads; the NHL API rate limit
+ * is enforced by the client, so any concurrency stays within the upstream budget.
+ * Progress is persisted after every week so a job can be resumed after a restart.
+ * Only one job runs at a time across all instances: the running job's row holds a
+ * unique slot, and its update time is refreshed as a heartbeat. A running job whose
+ * heartbeat is older than the stale limit belongs to an instance that is gone and
+ * is marked interrupted.
+ */
+@Slf4j
+@Service
+public class SeasonBackfillService {
+
+    private static final int DAYS_PER_WEEK = 7;
+
+    private final BackfillJobRepository backfillJobRepository;
+    private final GameDateCoverageRepository gameDateCoverageRepository;
+    private final GameService gameService;
+    private final int maxConcurrency;
+    private final Duration staleAfter;
+
+    private final AtomicReference<Progress> activeProgress = new AtomicReference<>();
+
+    public SeasonBackfillService(BackfillJobRepository backfillJobRepository,
+                                 GameDateCoverageRepository gameDateCoverageRepository,
+                                 GameService gameService,
+                                 @Value("${nhl.backfill.max-concurrency:4}") int maxConcurrency,
+                                 @Value("${nhl.backfill.stale-after:PT5M}") Duration staleAfter) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Backfill concurrency must be at least 1");
+        }
+        this.backfillJobRepository = backfillJobRepository;
+        this.gameDateCoverageRepository = gameDateCoverageRepository;
+        this.gameService = gameService;
+        this.maxConcurrency = maxConcurrency;
+        this.staleAfter = staleAfter;
+    }
+
+    /**
+     * Marks running jobs whose instance is gone as interrupted, so they can be resumed.
+     * Jobs that still have a recent heartbeat are left alone, since another instance runs them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void markAbandonedJobsInterrupted() {
+        Instant now = Instant.now();
+        int abandoned = backfillJobRepository.interruptJobsWithHeartbeatBefore(now.minus(staleAfter), now);
+        if (abandoned > 0) {
+            log.warn("Marked {} backfill jobs without heartbeat for {} as interrupted", abandoned, staleAfter);
+        }
+    }
+
+    /**
+     * Refreshes the heartbeat of the job running on this instance, also while its weeks are slow.
+     */
+    @Scheduled(fixedDelayString = "${nhl.backfill.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        Progress progress = activeProgress.get();
+        if (progress != null) {
+            progress.touch();
+        }
+    }
+
+    /**
+     * Starts a backfill in the background for a season or an explicit date range.
+     * Dates from today onwards are excluded since those games are not final.
+     *
+     * @param request season (e.g. 20242025) or inclusive from/to dates
+     * @return the created job
+     * @throws IllegalArgumentException if the request does not describe a valid past range
+     * @throws BackfillAlreadyRunningException if another job is running
+     */
+    public BackfillJobResponse start(BackfillRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Backfill request cannot be null");
+        }
+
+        LocalDate from;
+        LocalDate to;
+        if (request.getSeason() != null) {
+            Season season = new Season(request.getSeason());
+            from = season.start();
+            to = season.end();
+        } else if (request.getFrom() != null && request.getTo() != null) {
+            from = request.getFrom();
+            to = request.getTo();
+        } else {
+            throw new IllegalArgumentException("Either season or both from and to must be given");
+        }
+
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        if (to.isAfter(yesterday)) {
+            to = yesterday;
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Backfill range must contain at least one past date");
+        }
+
+        markAbandonedJobsInterrupted();
+        BackfillJob job = new BackfillJob(from, to);
+        job.setStatus(BackfillStatus.RUNNING);
+        job.setWeeksTotal(weekStarts(from, to).size());
+        job.setStartedAt(Instant.now());
+        job.setUpdatedAt(job.getStartedAt());
+        try {
+            job = backfillJobRepository.saveAndFlush(job);
+        } catch (DataIntegrityViolationException e) {
+            throw new BackfillAlreadyRunningException("A backfill job is already running");
+        }
+
+        launch(job);
+        return mapToResponse(job);
+    }
+
+    /**
+     * Resumes an interrupted or failed job from its last completed week.
+     *
+     * @param id the job ID
+     * @return the resumed job
+     * @throws BackfillJobNotFoundException if no job has the ID
+     * @throws IllegalArgumentException if the job is already completed
+     * @throws BackfillAlreadyRunningException if another job is running
+     */
+    public BackfillJobResponse resume(Long id) {
+        markAbandonedJobsInterrupted();
+        BackfillJob job = findJob(id);
+        if (job.getStatus() == BackfillStatus.COMPLETED) {
+            throw new IllegalArgumentException("Backfill job " + id + " is already completed");
+        }
+
+        claimForResume(job);
+        job.setStatus(BackfillStatus.RUNNING);
+        job.setWeeksCompleted(weekStarts(job.getFromDate(), job.getResumeFrom().minusDays(1)).size());
+        job.setWeeksFailed(0);
+        job.setLastError(null);
+        job.setFinishedAt(null);
+        job.setUpdatedAt(Instant.now());
+        job = backfillJobRepository.save(job);
+
+        log.info("Resuming backfill job {} from {}", job.getId(), job.getResumeFrom());
+        launch(job);
+        return mapToResponse(job);
+    }
+
+    /**
+     * Gets the current progress of a job.
+     *
+     * @param id the job ID
+     * @return the job status
+     * @throws BackfillJobNotFoundException if no job has the ID
+     */
+    public BackfillJobResponse getJob(Long id) {
+        return mapToResponse(findJob(id));
+    }
+
+    /**
+     * Lists the most recently started jobs, newest first.
+     *
+     * @return recent jobs
+     */
+    public List<BackfillJobResponse> getRecentJobs() {
+        return backfillJobRepository.findTop20ByOrderByStartedAtDesc().stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    private void launch(BackfillJob job) {
+        Thread.ofVirtual()
+                .name("backfill-" + job.getId())
+                .start(() -> run(job));
+    }
+
+    /**
+     * Processes all remaining weeks of the job and records the final status.
+     * Runs on the calling thread; package-private for tests.
+     */
+    void run(BackfillJob job) {
+        List<LocalDate> weekStarts = weekStarts(job.getResumeFrom(), job.getToDate());
+        Progress progress = new Progress(job, weekStarts);
+        Semaphore permits = new Semaphore(maxConcurrency);
+        activeProgress.set(progress);
+
+        log.info("Backfill job {} processing {} weeks from {} to {}",
+                job.getId(), weekStarts.size(), job.getResumeFrom(), job.getToDate());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (LocalDate weekStart : weekStarts) {
+                permits.acquire();
+                executor.submit(() -> {
+                    try {
+                        processWeek(job, weekStart, progress);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress.finish(BackfillStatus.INTERRUPTED);
+            return;
+        } finally {
+            activeProgress.compareAndSet(progress, null);
+        }
+
+        progress.finish(progress.hasFailures() ? BackfillStatus.FAILED : BackfillStatus.COMPLETED);
+    }
+
+    /**
+     * Fetches and stores one week, unless every day of it is already covered.
+     * A failed API call throws; an empty result counts as failed too, since a fetched week always has its days.
+     * Only games actually inserted or updated count as saved, not those already stored unchanged.
+     */
+    private void processWeek(BackfillJob job, LocalDate weekStart, Progress progress) {
+        LocalDate weekEnd = min(weekStart.plusDays(DAYS_PER_WEEK - 1), job.getToDate());
+        long days = ChronoUnit.DAYS.between(weekStart, weekEnd) + 1;
+        try {
+            if (gameDateCoverageRepository.countByGameDateBetween(weekStart, weekEnd) >= days) {
+                progress.completed(weekStart, 0);
+                return;
+            }
+
+            StoredWeek week = gameService.fetchAndStoreWeek(weekStart);
+            if (week.gamesByDate().isEmpty()) {
+                progress.failed(weekStart, "No schedule returned for week starting " + weekStart);
+                return;
+            }
+
+            progress.completed(weekStart, week.saved().inserted() + week.saved().updated());
+        } catch (Exception e) {
+            log.error("Backfill of week starting {} failed: {}", weekStart, e.getMessage());
+            progress.failed(weekStart, e.getMessage());
+        }
+    }
+
+    /**
+     * Marks the stopped job as running in one statement, so two callers cannot both resume it.
+     */
+    private void claimForResume(BackfillJob job) {
+        int claimed;
+        try {
+            claimed = backfillJobRepository.claimForResume(job.getId(), Instant.now());
+        } catch (DataIntegrityViolationException e) {
+            throw new BackfillAlreadyRunningException("A backfill job is already running");
+        }
+        if (claimed == 0) {
+            throw new BackfillAlreadyRunningException("Backfill job " + job.getId() + " is already running");
+        }
+    }
+
+    private BackfillJob findJob(Long id) {
+        return backfillJobRepository.findById(id)
+                .orElseThrow(() -> new BackfillJobNotFoundException("Backfill job not found with id: " + id));
+    }
+
+    private static List<LocalDate> weekStarts(LocalDate from, LocalDate to) {
+        List<LocalDate> weekStarts = new ArrayList<>();
+        for (LocalDate weekStart = from; !weekStart.isAfter(to); weekStart = weekStart.plusDays(DAYS_PER_WEEK)) {
+            weekStarts.add(weekStart);
+        }
+        return weekStarts;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private BackfillJobResponse mapToResponse(BackfillJob job) {
+        return new BackfillJobResponse(
+                job.getId(),
+                job.getFromDate(),
+                job.getToDate(),
+                job.getStatus(),
+                job.getResumeFrom(),
+                job.getWeeksTotal(),
+                job.getWeeksCompleted(),
+                job.getWeeksFailed(),
+                job.getGamesSaved(),
+                job.getStartedAt(),
+                job.getUpdatedAt(),
+                job.getFinishedAt(),
+                job.getLastError()
+        );
+    }
+
+    /**
+     * Tracks finished weeks of a running job and persists progress after each one.
+     * The resume watermark only advances past a contiguous run of completed weeks,
+     * so resuming never skips a week that failed or was still in flight.
+     */
+    private class Progress {
+
+        private final BackfillJob job;
+        private final NavigableSet<LocalDate> pending;
+
+        Progress(BackfillJob job, List<LocalDate> weekStarts) {
+            this.job = job;
+            this.pending = new TreeSet<>(weekStarts);
+        }
+
+        synchronized void completed(LocalDate weekStart, int gamesWritten) {
+            pending.remove(weekStart);
+            job.setWeeksCompleted(job.getWeeksCompleted() + 1);
+            job.setGamesSaved(job.getGamesSaved() + gamesWritten);
+            save();
+        }
+
+        synchronized void failed(LocalDate weekStart, String error) {
+            job.setWeeksFailed(job.getWeeksFailed() + 1);
+            job.setLastError(error);
+            save();
+        }
+
+        synchronized void touch() {
+            save();
+        }
+
+        synchronized boolean hasFailures() {
+            return job.getWeeksFailed() > 0;
+        }
+
+        synchronized void finish(BackfillStatus status) {
+            job.setStatus(status);
+            job.setFinishedAt(Instant.now());
+            save();
+            log.info("Backfill job {} finished as {}: {} weeks completed, {} failed, {} games saved",
+                    job.getId(), status, job.getWeeksCompleted(), job.getWeeksFailed(), job.getGamesSaved());
+        }
+
+        private void save() {
+            job.setResumeFrom(pending.isEmpty() ? job.getToDate().plusDays(1) : pending.first());
+            job.setUpdatedAt(Instant.now());
+            try {
+                backfillJobRepository.save(job);
+            } catch (RuntimeException e) {
+                log.error("Could not persist progress of backfill job {}: {}", job.getId(), e.getMessage());
+            }
+        }
+    }
+}
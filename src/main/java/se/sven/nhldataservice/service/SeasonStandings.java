@@ -0,0 +1,190 @@
+package se.sven.nhldataservice.service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Team records of one season, kept up to date one game result at a time.
+ * Each game is counted once: a result saved again replaces the earlier one,
+ * so re-fetched weeks and score corrections never count a game twice, and a
+ * game saved again without a result, e.g. no longer final, is no longer counted.
+ * Changes arriving before the season is loaded are held back and applied
+ * after the stored results, since they are at least as recent.
+ */
+final class SeasonStandings {
+
+    private static final Comparator<TeamRecord> RANKING = Comparator
+            .comparingInt(TeamRecord::points).reversed()
+            .thenComparingInt(TeamRecord::gamesPlayed)
+            .thenComparing(Comparator.comparingInt(TeamRecord::regulationWins).reversed())
+            .thenComparing(Comparator.comparingInt(TeamRecord::wins).reversed())
+            .thenComparing(Comparator.comparingInt(TeamRecord::goalDifferential).reversed())
+            .thenComparingLong(TeamRecord::teamId);
+
+    private final Map<Long, GameResult> results = new HashMap<>();
+    private final Map<Long, TeamRecord> records = new HashMap<>();
+    // Latest change per game before loading; a null result removes the game
+    private final Map<Long, GameResult> pending = new LinkedHashMap<>();
+    private boolean loaded;
+    private List<TeamRecord> ranked;
+
+    /**
+     * Loads the stored results once; callers of other methods wait meanwhile.
+     *
+     * @param loader reads the stored results of the season
+     */
+    synchronized void load(Supplier<List<GameResult>> loader) {
+        if (loaded) {
+            return;
+        }
+        List<GameResult> stored = loader.get();
+        loaded = true;
+        stored.forEach(this::apply);
+        pending.forEach((gameId, result) -> {
+            if (result != null) {
+                apply(result);
+            } else {
+                remove(gameId);
+            }
+        });
+        pending.clear();
+    }
+
+    /**
+     * Counts a game result, replacing the game's earlier result if it changed.
+     */
+    synchronized void apply(GameResult result) {
+        if (!loaded) {
+            pending.put(result.gameId(), result);
+            return;
+        }
+        GameResult previous = results.put(result.gameId(), result);
+        if (result.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            count(previous, -1);
+        }
+        count(result, 1);
+        ranked = null;
+    }
+
+    /**
+     * Stops counting a game that no longer has a result, if it was counted.
+     */
+    synchronized void remove(long gameId) {
+        if (!loaded) {
+            pending.put(gameId, null);
+            return;
+        }
+        GameResult previous = results.remove(gameId);
+        if (previous != null) {
+            count(previous, -1);
+            ranked = null;
+        }
+    }
+
+    /**
+     * Returns the teams ranked by points, then fewer games played, regulation wins,
+     * wins and goal differential. The ranking is kept until the next change.
+     */
+    synchronized <T> List<T> standings(Function<TeamRecord, T> mapper) {
+        if (ranked == null) {
+            ranked = records.values().stream()
+                    .filter(record -> record.gamesPlayed > 0)
+                    .sorted(RANKING)
+                    .toList();
+        }
+        return ranked.stream().map(mapper).toList();
+    }
+
+    private void count(GameResult result, int sign) {
+        boolean homeWon = result.homeWon();
+        record(result.homeTeamId()).count(result.homeScore(), result.awayScore(), homeWon, result.extraTime(), sign);
+        record(result.awayTeamId()).count(result.awayScore(), result.homeScore(), !homeWon, result.extraTime(), sign);
+    }
+
+    private TeamRecord record(long teamId) {
+        return records.computeIfAbsent(teamId, TeamRecord::new);
+    }
+
+    /**
+     * Running totals of one team. Two points for a win, one for an overtime or shootout loss.
+     */
+    static final class TeamRecord {
+
+        private final long teamId;
+        private int gamesPlayed;
+        private int wins;
+        private int losses;
+        private int otLosses;
+        private int regulationWins;
+        private int goalsFor;
+        private int goalsAgainst;
+
+        private TeamRecord(long teamId) {
+            this.teamId = teamId;
+        }
+
+        private void count(int scored, int conceded, boolean won, boolean extraTime, int sign) {
+            gamesPlayed += sign;
+            goalsFor += scored * sign;
+            goalsAgainst += conceded * sign;
+            if (won) {
+                wins += sign;
+                if (!extraTime) {
+                    regulationWins += sign;
+                }
+            } else if (extraTime) {
+                otLosses += sign;
+            } else {
+                losses += sign;
+            }
+        }
+
+        long teamId() {
+            return teamId;
+        }
+
+        int gamesPlayed() {
+            return gamesPlayed;
+        }
+
+        int wins() {
+            return wins;
+        }
+
+        int losses() {
+            return losses;
+        }
+
+        int otLosses() {
+            return otLosses;
+        }
+
+        int points() {
+            return 2 * wins + otLosses;
+        }
+
+        int regulationWins() {
+            return regulationWins;
+        }
+
+        int goalsFor() {
+            return goalsFor;
+        }
+
+        int goalsAgainst() {
+            return goalsAgainst;
+        }
+
+        int goalDifferential() {
+            return goalsFor - goalsAgainst;
+        }
+    }
+}
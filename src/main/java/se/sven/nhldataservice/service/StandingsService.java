@@ -0,0 +1,117 @@
+package se.sven.nhldataservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import se.sven.nhldataservice.dto.GameDTO;
+import se.sven.nhldataservice.dto.StandingDTO;
+import se.sven.nhldataservice.model.Team;
+import se.sven.nhldataservice.repository.GameRepository;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Serves regular season standings from memory.
+ * A season is built from its stored games on first request, with one range query,
+ * and afterwards kept current by counting each finished game as it is saved,
+ * so no request recomputes a season while it is kept. Only a few seasons are
+ * kept; the least recently used one is dropped first and built again when
+ * it is next requested.
+ */
+@Slf4j
+@Service
+public class StandingsService {
+
+    private final GameRepository gameRepository;
+    private final TeamRegistry teamRegistry;
+    private final Map<Integer, SeasonStandings> seasons;
+
+    public StandingsService(GameRepository gameRepository,
+                            TeamRegistry teamRegistry,
+                            @Value("${nhl.cache.standings.max-seasons:4}") int maxSeasons) {
+        if (maxSeasons <= 0) {
+            throw new IllegalArgumentException("Standings season limit must be positive");
+        }
+        this.gameRepository = gameRepository;
+        this.teamRegistry = teamRegistry;
+        this.seasons = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, SeasonStandings> eldest) {
+                return size() > maxSeasons;
+            }
+        };
+    }
+
+    /**
+     * Returns the standings of a season, ranked by points.
+     *
+     * @param season season id (e.g. 20242025), or null for the current season
+     * @return one entry per team with at least one finished regular season game
+     * @throws IllegalArgumentException if the season is malformed
+     */
+    public List<StandingDTO> getStandings(Integer season) {
+        Season resolved = season != null ? new Season(season) : Season.containing(LocalDate.now());
+        SeasonStandings standings;
+        synchronized (seasons) {
+            standings = seasons.computeIfAbsent(resolved.id(), id -> new SeasonStandings());
+        }
+        // Loaded outside the lock, so building one season does not hold up the others
+        standings.load(() -> loadResults(resolved));
+        return standings.standings(this::mapToDTO);
+    }
+
+    /**
+     * Counts the finished games among the saved ones in the standings of seasons already built,
+     * and stops counting saved games that no longer have a result.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGamesSaved(GamesSavedEvent event) {
+        for (GameDTO game : event.games()) {
+            SeasonStandings standings;
+            synchronized (seasons) {
+                standings = seasons.get(game.getSeason());
+            }
+            if (standings == null) {
+                continue;
+            }
+            GameResult result = GameResult.of(game);
+            if (result != null) {
+                standings.apply(result);
+            } else {
+                standings.remove(game.getId());
+            }
+        }
+    }
+
+    private List<GameResult> loadResults(Season season) {
+        List<GameResult> results = gameRepository.findRowsByGameDateBetween(season.start(), season.end()).stream()
+                .filter(row -> row.season() == season.id())
+                .map(GameResult::of)
+                .filter(Objects::nonNull)
+                .toList();
+        log.info("Built standings for season {} from {} finished games", season.id(), results.size());
+        return results;
+    }
+
+    private StandingDTO mapToDTO(SeasonStandings.TeamRecord record) {
+        Team team = teamRegistry.resolve(record.teamId());
+        return new StandingDTO(
+                record.teamId(),
+                team != null ? team.getAbbrev() : null,
+                team != null ? team.getName() : null,
+                record.gamesPlayed(),
+                record.wins(),
+                record.losses(),
+                record.otLosses(),
+                record.points(),
+                record.regulationWins(),
+                record.goalsFor(),
+                record.goalsAgainst(),
+                record.goalDifferential());
+    }
+}
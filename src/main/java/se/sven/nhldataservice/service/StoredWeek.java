@@ -0,0 +1,17 @@
+package se.sven.nhldataservice.service;
+
+import se.sven.nhldataservice.dto.GameDTO;
+import se.sven.nhldataservice.repository.GameUpsertResult;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A schedule week fetched from the NHL API and the outcome of storing it.
+ *
+ * @param gamesByDate games of the week grouped by date, also the days not stored
+ * @param saved how many of the stored games were inserted, updated or left unchanged
+ */
+public record StoredWeek(Map<LocalDate, List<GameDTO>> gamesByDate, GameUpsertResult saved) {
+}
@@ -0,0 +1,124 @@
+package se.sven.nhldataservice.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import se.sven.nhldataservice.model.Team;
+import se.sven.nhldataservice.repository.TeamRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Process-wide registry of the stored NHL teams, so that saving games and naming
+ * teams in the standings needs no team lookups in the database. Loaded when the
+ * application context starts, before requests are served, and updated after new
+ * or changed teams have been committed. Lookups never go to the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamRegistry {
+
+    private final TeamRepository teamRepository;
+
+    private final Map<Long, Team> teams = new ConcurrentHashMap<>();
+
+    /**
+     * Loads all stored teams into the registry, replacing what it held before.
+     */
+    @PostConstruct
+    public void load() {
+        Map<Long, Team> stored = teamRepository.findAll().stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+        teams.putAll(stored);
+        teams.keySet().retainAll(stored.keySet());
+        log.info("Loaded {} teams into the team registry", teams.size());
+    }
+
+    /**
+     * Returns the registered team with the given id.
+     *
+     * @param teamId team id, may be null
+     * @return the team, or null if the id is null or the team is not registered
+     */
+    public Team resolve(Long teamId) {
+        return teamId != null ? teams.get(teamId) : null;
+    }
+
+    /**
+     * Compares teams from the NHL API with the registry and returns the ones that
+     * need to be written: teams not registered yet and teams with changed values.
+     * Values missing from the incoming team are taken from the registered one.
+     *
+     * @param incoming teams as received, duplicates allowed
+     * @return new or changed teams, merged with what is already known
+     */
+    public List<Team> findChanged(Collection<Team> incoming) {
+        Map<Long, Team> distinct = new LinkedHashMap<>();
+        for (Team team : incoming) {
+            distinct.merge(team.getId(), team, TeamRegistry::merge);
+        }
+
+        List<Team> changed = new ArrayList<>();
+        for (Team team : distinct.values()) {
+            Team known = teams.get(team.getId());
+            Team merged = known != null ? merge(known, team) : team;
+            if (!merged.equals(known)) {
+                changed.add(merged);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Registers written or loaded teams once the current transaction commits, so a
+     * rollback cannot leave the registry claiming a team the database does not have.
+     * Without an active transaction the teams are registered immediately.
+     *
+     * @param written teams that were written to or read from the database
+     */
+    public void registerAfterCommit(Collection<Team> written) {
+        if (written.isEmpty()) {
+            return;
+        }
+        List<Team> snapshot = List.copyOf(written);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            register(snapshot);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                register(snapshot);
+            }
+        });
+    }
+
+    private void register(List<Team> written) {
+        written.forEach(team -> teams.put(team.getId(), team));
+        log.debug("Registered {} new or changed teams", written.size());
+    }
+
+    private static Team merge(Team known, Team update) {
+        return new Team(
+                known.getId(),
+                valueOrKnown(update.getAbbrev(), known.getAbbrev()),
+                valueOrKnown(update.getName(), known.getName()),
+                valueOrKnown(update.getCity(), known.getCity()),
+                valueOrKnown(update.getLogo(), known.getLogo()));
+    }
+
+    private static String valueOrKnown(String value, String known) {
+        return value != null ? value : known;
+    }
+}
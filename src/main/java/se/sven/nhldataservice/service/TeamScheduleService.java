@@ -0,0 +1,141 @@
+package se.sven.nhldataservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import se.sven.nhldataservice.dto.GameDTO;
+import se.sven.nhldataservice.dto.TeamDTO;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serves the stored games of one team per season.
+ * Games belong to a season by their stored season id, which is also the cache key,
+ * so loading and invalidation always agree. A team's season is read with one indexed query and kept encoded in memory
+ * until games of that team and season are saved again, or until it is evicted
+ * (least recently used first) by the entry limit. Empty seasons are not cached,
+ * so unknown teams cannot fill the cache.
+ */
+@Slf4j
+@Service
+public class TeamScheduleService {
+
+    private final GameService gameService;
+    private final GameDayEncoder gameDayEncoder;
+    private final Map<TeamSeason, GameDay> seasons;
+    private long invalidations;
+
+    public TeamScheduleService(GameService gameService,
+                               GameDayEncoder gameDayEncoder,
+                               @Value("${nhl.cache.team-seasons.max-entries:256}") int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Team season cache limit must be positive");
+        }
+        this.gameService = gameService;
+        this.gameDayEncoder = gameDayEncoder;
+        this.seasons = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TeamSeason, GameDay> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Retrieves the stored games of a team in a season, optionally narrowed to a date range.
+     * Without a season, the season of the from date (or of today) is used.
+     *
+     * @param teamId the team ID
+     * @param season season id (e.g. 20242025), or null
+     * @param from first date, or null for the first game of the season
+     * @param to last date, or null for the last game of the season
+     * @return the team's games in date order with their ETag
+     * @throws IllegalArgumentException if the season is malformed, the range is reversed
+     *                                  or, without a season, spans two seasons
+     */
+    public GameDay getTeamGames(Long teamId, Integer season, LocalDate from, LocalDate to) {
+        Season resolved = resolveSeason(season, from, to);
+        GameDay games = getSeason(teamId, resolved);
+        if (from == null && to == null) {
+            return games;
+        }
+
+        LocalDate first = from != null ? from : LocalDate.MIN;
+        LocalDate last = to != null ? to : LocalDate.MAX;
+        return gameDayEncoder.encode(games.games().stream()
+                .filter(game -> isBetween(LocalDate.parse(game.getGameDate()), first, last))
+                .toList());
+    }
+
+    /**
+     * Drops the cached seasons of every team that played in the saved games.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGamesSaved(GamesSavedEvent event) {
+        Set<TeamSeason> affected = new HashSet<>();
+        for (GameDTO game : event.games()) {
+            addTeamSeason(affected, game.getHomeTeam(), game.getSeason());
+            addTeamSeason(affected, game.getAwayTeam(), game.getSeason());
+        }
+
+        synchronized (seasons) {
+            invalidations++;
+            affected.forEach(seasons::remove);
+        }
+        log.debug("Invalidated {} cached team seasons", affected.size());
+    }
+
+    private GameDay getSeason(Long teamId, Season season) {
+        TeamSeason key = new TeamSeason(teamId, season.id());
+        long invalidationsBefore;
+        synchronized (seasons) {
+            GameDay cached = seasons.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            invalidationsBefore = invalidations;
+        }
+
+        GameDay loaded = gameDayEncoder.encode(gameService.findStoredTeamGames(teamId, season.id()));
+        synchronized (seasons) {
+            // Skip the put if games were saved meanwhile; the load may predate them
+            if (!loaded.isEmpty() && invalidations == invalidationsBefore) {
+                seasons.put(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private static Season resolveSeason(Integer season, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+
+        if (season != null) {
+            return new Season(season);
+        }
+        Season resolved = Season.containing(from != null ? from : to != null ? to : LocalDate.now());
+        if (from != null && to != null && !resolved.equals(Season.containing(to))) {
+            throw new IllegalArgumentException("Date range must lie within one season, or give the season");
+        }
+        return resolved;
+    }
+
+    private static boolean isBetween(LocalDate date, LocalDate first, LocalDate last) {
+        return !date.isBefore(first) && !date.isAfter(last);
+    }
+
+    private static void addTeamSeason(Set<TeamSeason> affected, TeamDTO team, int season) {
+        if (team != null && team.getId() != null) {
+            affected.add(new TeamSeason(team.getId(), season));
+        }
+    }
+
+    private record TeamSeason(Long teamId, int season) {
+    }
+}
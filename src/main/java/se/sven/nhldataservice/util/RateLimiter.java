@@ -0,0 +1,50 @@
+package se.sven.nhldataservice.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Spaces out permits evenly so that callers, across all threads, never exceed
+ * a fixed rate. Callers reserve the next free slot under a short lock and sleep
+ * outside it, which keeps waiting virtual threads unpinned.
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long nextFreeSlot = System.nanoTime();
+
+    /**
+     * @param permitsPerSecond maximum number of permits handed out per second
+     */
+    public RateLimiter(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Permits per second must be positive");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    }
+
+    /**
+     * Blocks until a permit is available.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        long wait = reserve();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    private long reserve() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextFreeSlot);
+            nextFreeSlot = slot + intervalNanos;
+            return slot - now;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
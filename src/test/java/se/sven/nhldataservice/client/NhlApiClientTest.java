@@ -0,0 +1,264 @@
+package se.sven.nhldataservice.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+import se.sven.nhldataservice.config.AppConfig;
+import se.sven.nhldataservice.dto.GameDTO;
+import se.sven.nhldataservice.dto.GameWeekDTO;
+import se.sven.nhldataservice.exception.NhlApiUnavailableException;
+import se.sven.nhldataservice.util.CircuitBreaker;
+import se.sven.nhldataservice.util.RateLimiter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NhlApiClientTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 1, 15);
+    private static final String EXPECTED_URL = "https://api-web.nhle.com/v1/schedule/2025-01-15";
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Spy
+    private ScheduleStreamParser scheduleStreamParser = new ScheduleStreamParser(new AppConfig().objectMapper());
+
+    @Mock
+    private RateLimiter nhlApiRateLimiter;
+
+    @Spy
+    private CircuitBreaker nhlApiCircuitBreaker = new CircuitBreaker(2, Duration.ofMinutes(1));
+
+    @InjectMocks
+    private NhlApiClient nhlApiClient;
+
+    @Test
+    void shouldGroupGamesByScheduleDay() throws IOException {
+        // Given
+        GameDTO game = new GameDTO();
+        game.setId(123);
+        when(scheduleStreamParser.parse(any()))
+                .thenReturn(List.of(day("2025-01-15", game), day("2025-01-16"), day("not-a-date")));
+        respondWith(new ArrayList<>(), ok(null));
+
+        // When
+        Map<LocalDate, List<GameDTO>> result = nhlApiClient.fetchScheduleWeek(DATE);
+
+        // Then
+        assertThat(result).containsOnlyKeys(DATE, DATE.plusDays(1));
+        assertThat(result.get(DATE)).extracting(GameDTO::getGameDate).containsExactly("2025-01-15");
+    }
+
+    @Test
+    void shouldThrowUnavailableWhenApiCallFails() {
+        // Given
+        when(restTemplate.execute(eq(EXPECTED_URL), eq(HttpMethod.GET), any(RequestCallback.class), anyExtractor()))
+                .thenThrow(new ResourceAccessException("API connection failed"));
+
+        // When / Then
+        assertThatThrownBy(() -> nhlApiClient.fetchScheduleWeek(DATE))
+                .isInstanceOf(NhlApiUnavailableException.class);
+    }
+
+    @Test
+    void shouldFailFastWithoutCallingApiWhenCircuitIsOpen() {
+        // Given
+        when(restTemplate.execute(eq(EXPECTED_URL), eq(HttpMethod.GET), any(RequestCallback.class), anyExtractor()))
+                .thenThrow(new ResourceAccessException("API connection failed"));
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> nhlApiClient.fetchScheduleWeek(DATE))
+                    .isInstanceOf(NhlApiUnavailableException.class);
+        }
+
+        // When / Then
+        assertThatThrownBy(() -> nhlApiClient.fetchScheduleWeek(DATE))
+                .isInstanceOf(NhlApiUnavailableException.class);
+        verify(restTemplate, times(2))
+                .execute(eq(EXPECTED_URL), eq(HttpMethod.GET), any(RequestCallback.class), anyExtractor());
+    }
+
+    @Test
+    void shouldNotCountClientErrorAsFailure() {
+        // Given
+        when(restTemplate.execute(eq(EXPECTED_URL), eq(HttpMethod.GET), any(RequestCallback.class), anyExtractor()))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> nhlApiClient.fetchScheduleWeek(DATE))
+                    .isInstanceOf(NhlApiUnavailableException.class)
+                    .hasCauseInstanceOf(HttpClientErrorException.class);
+        }
+
+        // Then
+        assertThat(nhlApiCircuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        verify(nhlApiCircuitBreaker, never()).recordFailure();
+        verify(restTemplate, times(3))
+                .execute(eq(EXPECTED_URL), eq(HttpMethod.GET), any(RequestCallback.class), anyExtractor());
+    }
+
+    @Test
+    void shouldCountServerErrorsAndTooManyRequestsAsFailures() {
+        // Given
+        when(restTemplate.execute(eq(EXPECTED_URL), eq(HttpMethod.GET), any(RequestCallback.class), anyExtractor()))
+                .thenThrow(new HttpServerErrorException(HttpStatus.BAD_GATEWAY))
+                .thenThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> nhlApiClient.fetchScheduleWeek(DATE))
+                    .isInstanceOf(NhlApiUnavailableException.class);
+        }
+
+        // Then
+        assertThat(nhlApiCircuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void shouldNotWaitForRateLimitWhenCircuitIsOpen() throws InterruptedException {
+        // Given
+        nhlApiCircuitBreaker.recordFailure();
+        nhlApiCircuitBreaker.recordFailure();
+
+        // When / Then
+        assertThatThrownBy(() -> nhlApiClient.fetchScheduleWeek(DATE))
+                .isInstanceOf(NhlApiUnavailableException.class);
+        verify(nhlApiRateLimiter, never()).acquire();
+    }
+
+    @Test
+    void shouldCountUnreadableResponseAsFailure() throws IOException {
+        // Given
+        when(scheduleStreamParser.parse(any())).thenThrow(new IllegalStateException("Malformed schedule"));
+        respondWith(new ArrayList<>(), ok(null));
+
+        // When / Then
+        assertThatThrownBy(() -> nhlApiClient.fetchScheduleWeek(DATE))
+                .isInstanceOf(NhlApiUnavailableException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        verify(nhlApiCircuitBreaker).recordFailure();
+    }
+
+    @Test
+    void shouldReuseScheduleWhenServerAnswersNotModified() {
+        // Given
+        String json = """
+            {"gameWeek": [{"date": "2025-01-15", "games": [{
+                "id": 123,
+                "startTimeUTC": "2025-01-16T03:00:00Z",
+                "gameState": "FUT",
+                "awayTeam": {"id": 6, "commonName": {"default": "Bruins"}, "abbrev": "BOS"},
+                "homeTeam": {"id": 23, "commonName": {"default": "Canucks"}, "abbrev": "VAN"},
+                "periodDescriptor": {"number": 1, "periodType": "REG"}
+            }]}]}
+            """;
+        List<MockClientHttpRequest> requests = new ArrayList<>();
+        respondWith(requests, ok("\"v1\"", json), new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED));
+
+        // When
+        Map<LocalDate, List<GameDTO>> first = nhlApiClient.fetchScheduleWeek(DATE);
+        Map<LocalDate, List<GameDTO>> second = nhlApiClient.fetchScheduleWeek(DATE);
+
+        // Then
+        assertThat(second).isEqualTo(first);
+        assertThat(requests.get(0).getHeaders().getIfNoneMatch()).isEmpty();
+        assertThat(requests.get(1).getHeaders().getIfNoneMatch()).containsExactly("\"v1\"");
+    }
+
+    @Test
+    void shouldNotShareGamesBetweenCallersWhenServerAnswersNotModified() {
+        // Given
+        String json = """
+            {"gameWeek": [{"date": "2025-01-15", "games": [{"id": 123, "gameState": "FUT",
+                "homeTeam": {"id": 23, "abbrev": "VAN"}}]}]}
+            """;
+        respondWith(new ArrayList<>(), ok("\"v1\"", json),
+                new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED),
+                new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED));
+
+        // When
+        GameDTO first = nhlApiClient.fetchScheduleWeek(DATE).get(DATE).get(0);
+        first.setGameState("LIVE");
+        first.getHomeTeam().setScore(3);
+        GameDTO second = nhlApiClient.fetchScheduleWeek(DATE).get(DATE).get(0);
+        second.setGameState("OFF");
+        GameDTO third = nhlApiClient.fetchScheduleWeek(DATE).get(DATE).get(0);
+
+        // Then
+        assertThat(third.getGameState()).isEqualTo("FUT");
+        assertThat(third.getHomeTeam().getScore()).isZero();
+        assertThat(third.getGameDate()).isEqualTo("2025-01-15");
+    }
+
+    /**
+     * Runs the client's request callback and response extractor against canned responses.
+     */
+    private void respondWith(List<MockClientHttpRequest> requests, MockClientHttpResponse... responses) {
+        int[] next = {0};
+        when(restTemplate.execute(eq(EXPECTED_URL), eq(HttpMethod.GET), any(RequestCallback.class), anyExtractor()))
+                .thenAnswer(invocation -> {
+                    MockClientHttpRequest request = new MockClientHttpRequest();
+                    invocation.getArgument(2, RequestCallback.class).doWithRequest(request);
+                    requests.add(request);
+                    return invocation.getArgument(3, ResponseExtractor.class).extractData(responses[next[0]++]);
+                });
+    }
+
+    /**
+     * Matches the client's response extractor, typed so the stubbing needs no unchecked conversion.
+     */
+    private static ResponseExtractor<Object> anyExtractor() {
+        return any();
+    }
+
+    private static MockClientHttpResponse ok(String etag) {
+        return ok(etag, InputStream.nullInputStream());
+    }
+
+    private static MockClientHttpResponse ok(String etag, String body) {
+        return ok(etag, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MockClientHttpResponse ok(String etag, InputStream body) {
+        MockClientHttpResponse response = new MockClientHttpResponse(body, HttpStatus.OK);
+        if (etag != null) {
+            response.getHeaders().setETag(etag);
+        }
+        return response;
+    }
+
+    private static GameWeekDTO day(String date, GameDTO... games) {
+        GameWeekDTO week = new GameWeekDTO();
+        week.setDate(date);
+        week.setGames(List.of(games));
+        return week;
+    }
+}
@@ -0,0 +1,117 @@
+package se.sven.nhldataservice.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import se.sven.nhldataservice.config.AppConfig;
+import se.sven.nhldataservice.dto.GameDTO;
+import se.sven.nhldataservice.dto.GameWeekDTO;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScheduleStreamParserTest {
+
+    private final ObjectMapper objectMapper = new AppConfig().objectMapper();
+    private final ScheduleStreamParser parser = new ScheduleStreamParser(objectMapper);
+
+    @Test
+    void shouldMapUsedFieldsAndSkipUnknownSubtrees() throws IOException {
+        // Given
+        String json = """
+            {
+                "nextStartDate": "2025-01-22",
+                "gameWeek": [
+                    {
+                        "date": "2025-01-15",
+                        "dayAbbrev": "WED",
+                        "numberOfGames": 1,
+                        "games": [
+                            {
+                                "id": 2024020123,
+                                "season": 20242025,
+                                "gameType": 2,
+                                "venue": {"default": "Rogers Arena", "fr": "Arena Rogers"},
+                                "neutralSite": false,
+                                "startTimeUTC": "2025-01-16T03:00:00Z",
+                                "easternUTCOffset": "-05:00",
+                                "venueUTCOffset": "-08:00",
+                                "venueTimezone": "America/Vancouver",
+                                "gameState": "FINAL",
+                                "gameScheduleState": "OK",
+                                "tvBroadcasts": [{"id": 1, "market": "N", "network": "SN"}],
+                                "awayTeam": {
+                                    "id": 6,
+                                    "commonName": {"default": "Bruins"},
+                                    "placeName": {"default": "Boston", "fr": "Boston"},
+                                    "abbrev": "BOS",
+                                    "logo": "https://assets.nhle.com/logos/nhl/svg/BOS_light.svg",
+                                    "odds": [{"providerId": 9, "value": "+120"}],
+                                    "score": 2
+                                },
+                                "homeTeam": {
+                                    "id": 23,
+                                    "commonName": {"default": "Canucks"},
+                                    "placeName": {"default": "Vancouver"},
+                                    "abbrev": "VAN",
+                                    "score": 4
+                                },
+                                "periodDescriptor": {"number": 3, "periodType": "REG", "maxRegulationPeriods": 3},
+                                "gameOutcome": {"lastPeriodType": "REG"},
+                                "threeMinRecap": "/video/recap",
+                                "gameCenterLink": "/gamecenter/bos-vs-van/2025/01/15/2024020123"
+                            }
+                        ]
+                    },
+                    {"date": "2025-01-16", "numberOfGames": 0, "games": []}
+                ],
+                "oddsPartners": [{"partnerId": 9, "country": "US"}]
+            }
+            """;
+
+        // When
+        List<GameWeekDTO> weeks = parser.parse(stream(json));
+
+        // Then
+        assertThat(weeks).hasSize(2);
+        assertThat(weeks.get(0).getDate()).isEqualTo("2025-01-15");
+        assertThat(weeks.get(1).getGames()).isEmpty();
+
+        GameDTO game = weeks.get(0).getGames().getFirst();
+        assertThat(game.getId()).isEqualTo(2024020123L);
+        assertThat(game.getSeason()).isEqualTo(20242025);
+        assertThat(game.getVenue().getDefaultValue()).isEqualTo("Rogers Arena");
+        assertThat(game.getNeutralSite()).isEqualTo("false");
+        assertThat(game.getStartTimeUTC().toInstant().toString()).isEqualTo("2025-01-16T03:00:00Z");
+        assertThat(game.getGameState()).isEqualTo("FINAL");
+        assertThat(game.getAwayTeam().getAbbrev()).isEqualTo("BOS");
+        assertThat(game.getAwayTeam().getName().getDefaultValue()).isEqualTo("Bruins");
+        assertThat(game.getAwayTeam().getPlaceName().getDefaultValue()).isEqualTo("Boston");
+        assertThat(game.getAwayTeam().getScore()).isEqualTo(2);
+        assertThat(game.getHomeTeam().getScore()).isEqualTo(4);
+        assertThat(game.getPeriodDescriptor().getPeriodType()).isEqualTo("REG");
+        assertThat(game.getGameOutcome()).isNotNull();
+        assertThat(game.getClock()).isNull();
+        assertThat(game.getGameCenterLink()).endsWith("2024020123");
+    }
+
+    @Test
+    void shouldReturnNoDaysWhenGameWeekMissing() throws IOException {
+        assertThat(parser.parse(stream("{\"previousStartDate\": \"2025-01-08\"}"))).isEmpty();
+    }
+
+    @Test
+    void shouldRejectNonObjectPayload() {
+        assertThatThrownBy(() -> parser.parse(stream("[1, 2, 3]")))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,58 @@
+package se.sven.nhldataservice.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+
+    @AfterEach
+    void clearTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        // Given
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, () -> true);
+        inTransaction(true);
+
+        // When & Then
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.Route.REPLICA);
+    }
+
+    @Test
+    void shouldRouteWritesAndNonTransactionalWorkToPrimary() {
+        // Given
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, () -> true);
+
+        // When & Then
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.Route.PRIMARY);
+        inTransaction(false);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.Route.PRIMARY);
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaIsNotUsable() {
+        // Given
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, () -> false);
+        inTransaction(true);
+
+        // When & Then
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.Route.PRIMARY);
+    }
+
+    private static void inTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
@@ -0,0 +1,109 @@
+package se.sven.nhldataservice.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import se.sven.nhldataservice.service.GamesSavedEvent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ReplicaLagMonitorTest {
+
+    private static final Instant START = Instant.parse("2025-01-15T18:00:00Z");
+
+    private final JdbcTemplate replicaJdbcTemplate = mock(JdbcTemplate.class);
+    private final MutableClock clock = new MutableClock(START);
+    private final ReplicaLagMonitor monitor =
+            new ReplicaLagMonitor(replicaJdbcTemplate, Duration.ofSeconds(5), Duration.ofSeconds(10), clock);
+
+    @Test
+    void shouldNotUseReplicaBeforeFirstCheck() {
+        assertThat(monitor.isUsable()).isFalse();
+    }
+
+    @Test
+    void shouldUseReplicaWhileLagIsWithinLimit() {
+        // Given
+        when(replicaJdbcTemplate.queryForObject(ReplicaLagMonitor.LAG_QUERY, Double.class)).thenReturn(1.5);
+
+        // When
+        monitor.check();
+
+        // Then
+        assertThat(monitor.isUsable()).isTrue();
+    }
+
+    @Test
+    void shouldStopUsingReplicaWhenLaggingOrUnreachable() {
+        // Given
+        when(replicaJdbcTemplate.queryForObject(ReplicaLagMonitor.LAG_QUERY, Double.class))
+                .thenReturn(0.0)
+                .thenReturn(12.0)
+                .thenReturn(0.0)
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        // When & Then
+        monitor.check();
+        assertThat(monitor.isUsable()).isTrue();
+        monitor.check();
+        assertThat(monitor.isUsable()).isFalse();
+        monitor.check();
+        assertThat(monitor.isUsable()).isTrue();
+        monitor.check();
+        assertThat(monitor.isUsable()).isFalse();
+    }
+
+    @Test
+    void shouldKeepReadsOnPrimaryForWindowAfterGamesAreSaved() {
+        // Given
+        when(replicaJdbcTemplate.queryForObject(ReplicaLagMonitor.LAG_QUERY, Double.class)).thenReturn(0.0);
+        monitor.check();
+
+        // When
+        monitor.onGamesSaved(new GamesSavedEvent(List.of()));
+
+        // Then
+        assertThat(monitor.isUsable()).isFalse();
+        clock.advance(Duration.ofSeconds(9));
+        monitor.check();
+        assertThat(monitor.isUsable()).isFalse();
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(monitor.isUsable()).isTrue();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -3,10 +3,17 @@ package se.sven.nhldataservice.controller;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import se.sven.nhldataservice.exception.NhlApiUnavailableException;
+import se.sven.nhldataservice.service.GameDay;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -33,6 +40,42 @@ class GameControllerTest {
         ).isInstanceOf(DateTimeParseException.class);
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"gzip", "gzip, deflate, br", "br;q=1.0, gzip;q=0.8", "*", "GZIP",
+            "*;q=0, gzip", "gzip, *;q=0"})
+    void shouldAcceptGzip(String acceptEncoding) {
+        assertThat(GameResponses.acceptsGzip(acceptEncoding)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"identity", "br", "gzip;q=0", "deflate, gzip;q=0.0",
+            "gzip;q=0, *", "*, gzip;q=0", "*;q=0"})
+    void shouldNotAcceptGzip(String acceptEncoding) {
+        assertThat(GameResponses.acceptsGzip(acceptEncoding)).isFalse();
+    }
+
+    @Test
+    void shouldAnswerNoContentForDayWithoutGames() {
+        // Given
+        GameDay empty = new GameDay(List.of(), new byte[0], "\"empty\"", false);
+
+        // When
+        ResponseEntity<byte[]> response = GameResponses.build(empty, "2025-01-15", request(), null);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    }
+
+    @Test
+    void shouldReportUnavailableWhenDegradedResultHasNoGames() {
+        // Given
+        GameDay degraded = new GameDay(List.of(), new byte[0], "\"empty\"", true);
+
+        // When / Then
+        assertThatThrownBy(() -> GameResponses.build(degraded, "2025-01-15", request(), null))
+                .isInstanceOf(NhlApiUnavailableException.class);
+    }
+
     @Test
     void shouldParseValidDateCorrectly() {
         String validDate = "2024-06-30";
@@ -41,4 +84,8 @@ class GameControllerTest {
 
         assertThat(result).isEqualTo(LocalDate.of(2024, 6, 30));
     }
+
+    private static ServletWebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest());
+    }
 }
\ No newline at end of file
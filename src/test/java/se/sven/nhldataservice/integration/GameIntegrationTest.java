@@ -5,6 +5,7 @@ import se.sven.nhldataservice.model.User;
 
 import java.time.LocalDate;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -117,4 +118,52 @@ class GameIntegrationTest extends BaseIntegrationTest {
                         .header("Authorization", bearerToken(token)))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+// === Test team games ===
+
+    @Test
+    void shouldReturnNoContentForTeamWithoutStoredGames() throws Exception {
+        // Given
+        User user = createTestUser("testuser", "test@example.com", "password123");
+        String token = generateToken(user);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/teams/10/games?season=20232024")
+                        .header("Authorization", bearerToken(token)))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void shouldRejectMalformedSeason() throws Exception {
+        // Given
+        User user = createTestUser("testuser", "test@example.com", "password123");
+        String token = generateToken(user);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/teams/10/games?season=2024")
+                        .header("Authorization", bearerToken(token)))
+                .andExpect(status().isBadRequest());
+    }
+
+// === Test live stream ===
+
+    @Test
+    void shouldOpenLiveStreamWithValidToken() throws Exception {
+        // Given
+        User user = createTestUser("testuser", "test@example.com", "password123");
+        String token = generateToken(user);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/games/stream")
+                        .header("Authorization", bearerToken(token)))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("Content-Type", startsWith("text/event-stream")));
+    }
+
+    @Test
+    void shouldRequireAuthenticationForLiveStream() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/games/stream"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,258 @@
+package se.sven.nhldataservice.integration;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.transaction.AfterTransaction;
+import se.sven.nhldataservice.dto.GameChangesDTO;
+import se.sven.nhldataservice.dto.GameDTO;
+import se.sven.nhldataservice.dto.LocalizedNameDTO;
+import se.sven.nhldataservice.dto.TeamDTO;
+import se.sven.nhldataservice.model.Game;
+import se.sven.nhldataservice.model.Team;
+import se.sven.nhldataservice.repository.GameDateCoverageRepository;
+import se.sven.nhldataservice.repository.GameRepository;
+import se.sven.nhldataservice.repository.GameRow;
+import se.sven.nhldataservice.repository.GameUpsertResult;
+import se.sven.nhldataservice.repository.TeamRepository;
+import se.sven.nhldataservice.service.GamePersistenceService;
+import se.sven.nhldataservice.service.GameService;
+import se.sven.nhldataservice.service.TeamRegistry;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GamePersistenceIntegrationTest extends BaseIntegrationTest {
+
+    private static final LocalDate GAME_DAY = LocalDate.of(2024, 1, 15);
+
+    @Autowired
+    private GamePersistenceService gamePersistenceService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private TeamRegistry teamRegistry;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private GameDateCoverageRepository gameDateCoverageRepository;
+
+    @AfterTransaction
+    void reloadTeamRegistry() {
+        // Teams registered during a rolled back test must not leak into other tests
+        teamRegistry.load();
+    }
+
+    @Test
+    void shouldInsertGamesTeamsAndCoverage() {
+        // Given
+        GameDTO game = game(2023020001L, team(10L, "TOR", "Maple Leafs"), team(8L, "MTL", "Canadiens"));
+        GameDTO sameTeams = game(2023020002L, team(8L, "MTL", "Canadiens"), team(10L, "TOR", "Maple Leafs"));
+
+        // When
+        gamePersistenceService.saveGameWeek(Map.of(GAME_DAY, List.of(game, sameTeams), GAME_DAY.plusDays(1), List.of()));
+
+        // Then
+        assertThat(gameRepository.findRowsByGameDate(GAME_DAY))
+                .extracting(GameRow::id)
+                .containsExactlyInAnyOrder(2023020001L, 2023020002L);
+        assertThat(teamRepository.findAll()).extracting(Team::getAbbrev).containsExactlyInAnyOrder("TOR", "MTL");
+        assertThat(gameDateCoverageRepository.findById(GAME_DAY.plusDays(1)))
+                .hasValueSatisfying(coverage -> assertThat(coverage.getGameCount()).isZero());
+    }
+
+    @Test
+    void shouldUpdateStoredGameAndKeepKnownTeamValues() {
+        // Given
+        gamePersistenceService.saveGamesDtoToDB(List.of(
+                game(2023020001L, team(10L, "TOR", "Maple Leafs"), team(8L, "MTL", "Canadiens"))));
+        GameDTO finalScore = game(2023020001L, team(10L, "TOR", null), team(8L, "MTL", "Canadiens"));
+        finalScore.getHomeTeam().setScore(4);
+        finalScore.setGameState("OFF");
+
+        // When
+        gamePersistenceService.saveGamesDtoToDB(List.of(finalScore));
+
+        // Then
+        Game stored = gameRepository.findById(2023020001L).orElseThrow();
+        assertThat(stored.getHomeScore()).isEqualTo(4);
+        assertThat(stored.getGameState()).isEqualTo("OFF");
+        assertThat(stored.getHomeTeam().getName()).isEqualTo("Maple Leafs");
+        assertThat(gameRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldMapStoredGamesWithTheirTeams() {
+        // Given
+        gamePersistenceService.saveGamesDtoToDB(List.of(
+                game(2023020001L, team(10L, "TOR", "Maple Leafs"), team(8L, "MTL", "Canadiens"))));
+
+        // When
+        List<GameDTO> stored = gameService.findStoredGamesBetween(GAME_DAY, GAME_DAY).get(GAME_DAY);
+
+        // Then
+        assertThat(stored).hasSize(1);
+        assertThat(stored.getFirst().getHomeTeam().getName().getDefaultValue()).isEqualTo("Maple Leafs");
+        assertThat(stored.getFirst().getAwayTeam().getAbbrev()).isEqualTo("MTL");
+    }
+
+    @Test
+    void shouldReadGameDayInSingleStatement() {
+        // Given
+        gamePersistenceService.saveGamesDtoToDB(List.of(
+                game(2023020001L, team(10L, "TOR", "Maple Leafs"), team(8L, "MTL", "Canadiens")),
+                game(2023020002L, team(6L, "BOS", "Bruins"), team(3L, "NYR", "Rangers"))));
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        List<GameRow> day = gameRepository.findRowsByGameDate(GAME_DAY);
+        long dayStatements = statistics.getPrepareStatementCount();
+        List<GameRow> range = gameRepository.findRowsByGameDateBetween(GAME_DAY, GAME_DAY.plusDays(1));
+
+        // Then
+        assertThat(day).extracting(GameRow::awayAbbrev).containsExactlyInAnyOrder("MTL", "NYR");
+        assertThat(range).extracting(GameRow::homeName).containsExactlyInAnyOrder("Maple Leafs", "Bruins");
+        assertThat(dayStatements).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldFindHomeAndAwayGamesOfTeam() {
+        // Given
+        gamePersistenceService.saveGamesDtoToDB(List.of(
+                game(2023020001L, team(10L, "TOR", "Maple Leafs"), team(8L, "MTL", "Canadiens")),
+                game(2023020002L, team(6L, "BOS", "Bruins"), team(10L, "TOR", "Maple Leafs")),
+                game(2023020003L, team(6L, "BOS", "Bruins"), team(3L, "NYR", "Rangers"))));
+
+        // When
+        List<GameDTO> stored = gameService.findStoredTeamGames(10L, 20232024);
+
+        // Then
+        assertThat(stored).extracting(GameDTO::getId).containsExactly(2023020001L, 2023020002L);
+    }
+
+    @Test
+    void shouldListOnlyGamesWrittenSinceVersion() {
+        // Given
+        GameDTO leafsGame = game(2023020001L, team(10L, "TOR", "Maple Leafs"), team(8L, "MTL", "Canadiens"));
+        GameDTO bruinsGame = game(2023020002L, team(6L, "BOS", "Bruins"), team(3L, "NYR", "Rangers"));
+        gamePersistenceService.saveGamesDtoToDB(List.of(leafsGame, bruinsGame));
+        GameChangesDTO initial = gameService.findChangedGames(0, 100);
+        leafsGame.setGameState("OFF");
+
+        // When
+        gamePersistenceService.saveGamesDtoToDB(List.of(leafsGame));
+        GameChangesDTO changes = gameService.findChangedGames(initial.getLastVersion(), 100);
+
+        // Then
+        assertThat(initial.getGames()).extracting(GameDTO::getId).containsExactlyInAnyOrder(2023020001L, 2023020002L);
+        assertThat(changes.getGames()).extracting(GameDTO::getId).containsExactly(2023020001L);
+        assertThat(changes.getGames().getFirst().getGameState()).isEqualTo("OFF");
+        assertThat(changes.getLastVersion()).isGreaterThan(initial.getLastVersion());
+        assertThat(gameService.findChangedGames(changes.getLastVersion(), 100).getGames()).isEmpty();
+    }
+
+    @Test
+    void shouldSkipGamesThatDidNotChange() {
+        // Given
+        GameDTO leafsGame = game(2023020001L, team(10L, "TOR", "Maple Leafs"), team(8L, "MTL", "Canadiens"));
+        GameDTO bruinsGame = game(2023020002L, team(6L, "BOS", "Bruins"), team(3L, "NYR", "Rangers"));
+        gamePersistenceService.saveGamesDtoToDB(List.of(leafsGame, bruinsGame));
+        GameChangesDTO initial = gameService.findChangedGames(0, 100);
+        bruinsGame.getHomeTeam().setScore(1);
+        GameDTO newGame = game(2023020003L, team(3L, "NYR", "Rangers"), team(10L, "TOR", "Maple Leafs"));
+
+        // When
+        GameUpsertResult result = gamePersistenceService.saveGamesDtoToDB(List.of(leafsGame, bruinsGame, newGame));
+
+        // Then
+        assertThat(result.insertedIds()).containsExactly(2023020003L);
+        assertThat(result.updatedIds()).containsExactly(2023020002L);
+        assertThat(result.skipped()).isEqualTo(1);
+        assertThat(gameService.findChangedGames(initial.getLastVersion(), 100).getGames())
+                .extracting(GameDTO::getId)
+                .containsExactlyInAnyOrder(2023020002L, 2023020003L);
+        assertThat(gameRepository.findById(2023020002L).orElseThrow().getHomeScore()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldWriteLastOfDuplicateGamesWithoutCountingOthersAsSkipped() {
+        // Given
+        GameDTO scheduled = game(2023020001L, team(10L, "TOR", "Maple Leafs"), team(8L, "MTL", "Canadiens"));
+        GameDTO scored = game(2023020001L, team(10L, "TOR", "Maple Leafs"), team(8L, "MTL", "Canadiens"));
+        scored.getHomeTeam().setScore(2);
+
+        // When
+        GameUpsertResult result = gamePersistenceService.saveGamesDtoToDB(List.of(scheduled, scored));
+
+        // Then
+        assertThat(result.insertedIds()).containsExactly(2023020001L);
+        assertThat(result.skipped()).isZero();
+        assertThat(gameRepository.findById(2023020001L).orElseThrow().getHomeScore()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldPageChangedGamesByVersion() {
+        // Given
+        gamePersistenceService.saveGamesDtoToDB(List.of(
+                game(2023020001L, team(10L, "TOR", "Maple Leafs"), team(8L, "MTL", "Canadiens")),
+                game(2023020002L, team(6L, "BOS", "Bruins"), team(3L, "NYR", "Rangers"))));
+
+        // When
+        GameChangesDTO first = gameService.findChangedGames(0, 1);
+        GameChangesDTO second = gameService.findChangedGames(first.getLastVersion(), 1);
+
+        // Then
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(List.of(first.getGames().getFirst().getId(), second.getGames().getFirst().getId()))
+                .containsExactlyInAnyOrder(2023020001L, 2023020002L);
+    }
+
+    private static GameDTO game(long id, TeamDTO home, TeamDTO away) {
+        GameDTO game = new GameDTO();
+        game.setId(id);
+        game.setSeason(20232024);
+        game.setGameType(2);
+        game.setGameDate(GAME_DAY.toString());
+        game.setGameState("FUT");
+        game.setStartTimeUTC(ZonedDateTime.parse("2024-01-16T00:00:00Z"));
+        game.setHomeTeam(home);
+        game.setAwayTeam(away);
+        return game;
+    }
+
+    private static TeamDTO team(long id, String abbrev, String name) {
+        TeamDTO team = new TeamDTO();
+        team.setId(id);
+        team.setAbbrev(abbrev);
+        if (name != null) {
+            LocalizedNameDTO localizedName = new LocalizedNameDTO();
+            localizedName.setDefaultValue(name);
+            team.setName(localizedName);
+        }
+        return team;
+    }
+}
@@ -0,0 +1,148 @@
+package se.sven.nhldataservice.service;
+
+import org.junit.jupiter.api.Test;
+import se.sven.nhldataservice.dto.GameDTO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GameDayCacheTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2025, 1, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2025, 1, 2);
+    private static final LocalDate DAY_3 = LocalDate.of(2025, 1, 3);
+
+    @Test
+    void shouldCountHitsAndMisses() {
+        // Given
+        GameDayCache cache = new GameDayCache(10, 100_000);
+        cache.put(DAY_1, games(2), cache.generation());
+
+        // When
+        cache.get(DAY_1);
+        cache.get(DAY_1);
+        cache.get(DAY_2);
+
+        // Then
+        GameDayCache.CacheStats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.size()).isEqualTo(1);
+        assertThat(stats.weight()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedWhenEntryLimitReached() {
+        // Given
+        GameDayCache cache = new GameDayCache(2, 100_000);
+        cache.put(DAY_1, games(1), cache.generation());
+        cache.put(DAY_2, games(1), cache.generation());
+        cache.get(DAY_1); // DAY_2 becomes least recently used
+
+        // When
+        cache.put(DAY_3, games(1), cache.generation());
+
+        // Then
+        assertThat(cache.get(DAY_1)).isPresent();
+        assertThat(cache.get(DAY_2)).isEmpty();
+        assertThat(cache.get(DAY_3)).isPresent();
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldEvictWhenWeightLimitReached() {
+        // Given
+        GameDayCache cache = new GameDayCache(10, 2000);
+        cache.put(DAY_1, games(9), cache.generation());
+        cache.put(DAY_2, games(9), cache.generation());
+
+        // When
+        cache.put(DAY_3, games(5), cache.generation());
+
+        // Then
+        assertThat(cache.get(DAY_1)).isEmpty();
+        assertThat(cache.stats().weight()).isEqualTo(1400);
+    }
+
+    @Test
+    void shouldReturnImmutableCopy() {
+        // Given
+        GameDayCache cache = new GameDayCache(10, 100_000);
+        List<GameDTO> source = gameList(2);
+
+        // When
+        cache.put(DAY_1, new GameDay(source, new byte[0], "\"etag\"", false), cache.generation());
+        source.clear();
+
+        // Then
+        List<GameDTO> cached = cache.get(DAY_1).orElseThrow().games();
+        assertThat(cached).hasSize(2);
+        assertThatThrownBy(() -> cached.add(new GameDTO()))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void shouldDropEntryOnInvalidate() {
+        // Given
+        GameDayCache cache = new GameDayCache(10, 100_000);
+        cache.put(DAY_1, games(3), cache.generation());
+
+        // When
+        cache.invalidate(DAY_1);
+
+        // Then
+        assertThat(cache.get(DAY_1)).isEmpty();
+        assertThat(cache.stats().weight()).isZero();
+    }
+
+    @Test
+    void shouldNotCacheLoadThatStartedBeforeInvalidation() {
+        // Given
+        GameDayCache cache = new GameDayCache(10, 100_000);
+        long loadedAt = cache.generation();
+
+        // When
+        cache.invalidate(DAY_1);
+        GameDay result = cache.put(DAY_1, games(2), loadedAt);
+
+        // Then
+        assertThat(result.games()).hasSize(2);
+        assertThat(cache.get(DAY_1)).isEmpty();
+        assertThat(cache.stats().weight()).isZero();
+    }
+
+    @Test
+    void shouldCountCompressedVariantInWeight() {
+        // Given
+        GameDayCache cache = new GameDayCache(10, 100_000);
+        GameDay large = new GameDay(gameList(1), new byte[5000], "\"large\"", false);
+
+        // When
+        cache.put(DAY_1, large, cache.generation());
+
+        // Then
+        assertThat(cache.stats().weight()).isEqualTo(5000L + large.gzip().length);
+        assertThat(large.size()).isGreaterThan(5000);
+    }
+
+    /**
+     * Games with a body of 100 bytes per game, too small to be compressed for up to 10 games.
+     */
+    private static GameDay games(int count) {
+        return new GameDay(gameList(count), new byte[count * 100], "\"etag-" + count + "\"", false);
+    }
+
+    private static List<GameDTO> gameList(int count) {
+        List<GameDTO> games = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            GameDTO game = new GameDTO();
+            game.setId(i);
+            games.add(game);
+        }
+        return games;
+    }
+}
@@ -0,0 +1,89 @@
+package se.sven.nhldataservice.service;
+
+import org.junit.jupiter.api.Test;
+import se.sven.nhldataservice.config.AppConfig;
+import se.sven.nhldataservice.dto.GameDTO;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameDayEncoderTest {
+
+    private final GameDayEncoder encoder = new GameDayEncoder(new AppConfig().objectMapper());
+
+    @Test
+    void shouldProduceSameQuotedEtagForEqualContent() {
+        // When
+        GameDay first = encoder.encode(List.of(game(1L, "FINAL")));
+        GameDay second = encoder.encode(List.of(game(1L, "FINAL")));
+
+        // Then
+        assertThat(first.etag()).isEqualTo(second.etag());
+        assertThat(first.etag()).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    void shouldKeepSerializedJsonForDirectWriting() throws Exception {
+        // When
+        GameDay gameDay = encoder.encode(List.of(game(1L, "FINAL")));
+
+        // Then
+        List<GameDTO> decoded = List.of(new AppConfig().objectMapper().readValue(gameDay.json(), GameDTO[].class));
+        assertThat(decoded).extracting(GameDTO::getId).containsExactly(1L);
+        assertThat(decoded).extracting(GameDTO::getGameState).containsExactly("FINAL");
+    }
+
+    @Test
+    void shouldCompressLargeBodiesOnFirstUse() throws Exception {
+        // Given
+        List<GameDTO> games = new ArrayList<>();
+        for (long id = 0; id < 20; id++) {
+            games.add(game(id, "FINAL"));
+        }
+
+        // When
+        GameDay gameDay = encoder.encode(games);
+        long sizeBeforeCompression = gameDay.size();
+
+        // Then
+        assertThat(gameDay.hasGzip()).isTrue();
+        assertThat(sizeBeforeCompression).isEqualTo(gameDay.json().length);
+        assertThat(gameDay.gzip()).isSameAs(gameDay.gzip());
+        assertThat(gameDay.asDegraded().gzip()).isSameAs(gameDay.gzip());
+        assertThat(gameDay.gzip().length).isLessThan(gameDay.json().length);
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(gameDay.gzip()))) {
+            assertThat(gunzip.readAllBytes()).isEqualTo(gameDay.json());
+        }
+        assertThat(gameDay.gzipEtag()).isNotEqualTo(gameDay.etag()).endsWith("-gzip\"");
+    }
+
+    @Test
+    void shouldSkipGzipForSmallBodies() {
+        // When
+        GameDay gameDay = encoder.encode(List.of(game(1L, "FINAL")));
+
+        // Then
+        assertThat(gameDay.hasGzip()).isFalse();
+    }
+
+    @Test
+    void shouldChangeEtagWhenContentChanges() {
+        // When
+        GameDay live = encoder.encode(List.of(game(1L, "LIVE")));
+        GameDay finished = encoder.encode(List.of(game(1L, "FINAL")));
+
+        // Then
+        assertThat(live.etag()).isNotEqualTo(finished.etag());
+    }
+
+    private static GameDTO game(long id, String state) {
+        GameDTO game = new GameDTO();
+        game.setId(id);
+        game.setGameState(state);
+        return game;
+    }
+}
@@ -0,0 +1,157 @@
+package se.sven.nhldataservice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import se.sven.nhldataservice.config.AppConfig;
+import se.sven.nhldataservice.dto.GameDTO;
+import se.sven.nhldataservice.exception.NhlApiUnavailableException;
+import se.sven.nhldataservice.model.GameDateCoverage;
+import se.sven.nhldataservice.repository.GameDateCoverageRepository;
+import se.sven.nhldataservice.repository.GameUpsertResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameRangeServiceTest {
+
+    @Mock
+    private GameService gameService;
+
+    @Mock
+    private LiveScoreboardService liveScoreboardService;
+
+    @Mock
+    private GameDateCoverageRepository gameDateCoverageRepository;
+
+    private GameRangeService gameRangeService;
+
+    @BeforeEach
+    void setUp() {
+        EmptyGameDayPolicy policy = new EmptyGameDayPolicy(Duration.ofDays(30), Duration.ofHours(6));
+        GameDayEncoder encoder = new GameDayEncoder(new AppConfig().objectMapper());
+        gameRangeService = new GameRangeService(gameService, liveScoreboardService, gameDateCoverageRepository,
+                policy, encoder, 31);
+    }
+
+    @Test
+    void shouldServeStoredRangeWithoutCallingApi() {
+        // Given
+        LocalDate from = LocalDate.now().minusDays(20);
+        LocalDate to = from.plusDays(2);
+        when(gameService.findStoredGamesBetween(from, to)).thenReturn(Map.of(
+                from, List.of(game(1L)),
+                from.plusDays(2), List.of(game(3L))));
+        when(gameDateCoverageRepository.findAllByGameDateBetween(from, to))
+                .thenReturn(List.of(emptyMarker(from.plusDays(1))));
+
+        // When
+        List<GameDTO> result = gameRangeService.getGameRange(from, to).games();
+
+        // Then
+        assertThat(result).extracting(GameDTO::getId).containsExactly(1L, 3L);
+        verify(gameService, never()).fetchAndStoreWeek(any());
+    }
+
+    @Test
+    void shouldFetchOneWeekForConsecutiveUncoveredDates() {
+        // Given
+        LocalDate from = LocalDate.now().minusDays(20);
+        LocalDate to = from.plusDays(3);
+        when(gameService.findStoredGamesBetween(from, to)).thenReturn(Map.of(from, List.of(game(1L))));
+        when(gameDateCoverageRepository.findAllByGameDateBetween(from, to)).thenReturn(Collections.emptyList());
+        when(gameService.fetchAndStoreWeek(from.plusDays(1))).thenReturn(new StoredWeek(Map.of(
+                from.plusDays(1), List.of(game(2L)),
+                from.plusDays(2), Collections.emptyList(),
+                from.plusDays(3), List.of(game(4L)),
+                from.plusDays(4), List.of(game(5L))), GameUpsertResult.NONE));
+
+        // When
+        List<GameDTO> result = gameRangeService.getGameRange(from, to).games();
+
+        // Then
+        assertThat(result).extracting(GameDTO::getId).containsExactly(1L, 2L, 4L);
+        verify(gameService, times(1)).fetchAndStoreWeek(any());
+    }
+
+    @Test
+    void shouldReturnStoredGamesMarkedDegradedWhenApiIsUnavailable() {
+        // Given
+        LocalDate from = LocalDate.now().minusDays(20);
+        LocalDate to = from.plusDays(1);
+        when(gameService.findStoredGamesBetween(from, to)).thenReturn(Map.of(from, List.of(game(1L))));
+        when(gameDateCoverageRepository.findAllByGameDateBetween(from, to)).thenReturn(Collections.emptyList());
+        when(gameService.fetchAndStoreWeek(to)).thenThrow(new NhlApiUnavailableException("down"));
+
+        // When
+        GameDay result = gameRangeService.getGameRange(from, to);
+
+        // Then
+        assertThat(result.games()).extracting(GameDTO::getId).containsExactly(1L);
+        assertThat(result.degraded()).isTrue();
+    }
+
+    @Test
+    void shouldServeTodayAndLaterFromLiveScoreboard() {
+        // Given
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(1);
+        LocalDate to = today.plusDays(1);
+        when(gameService.findStoredGamesBetween(from, from)).thenReturn(Map.of(from, List.of(game(1L))));
+        when(gameDateCoverageRepository.findAllByGameDateBetween(from, from)).thenReturn(Collections.emptyList());
+        when(liveScoreboardService.getScoreboard(today)).thenReturn(scoreboard(today, false, game(2L)));
+        when(liveScoreboardService.getScoreboard(to)).thenReturn(scoreboard(to, true));
+
+        // When
+        GameDay result = gameRangeService.getGameRange(from, to);
+
+        // Then
+        assertThat(result.games()).extracting(GameDTO::getId).containsExactly(1L, 2L);
+        assertThat(result.degraded()).isTrue();
+        verify(gameService, never()).fetchAndStoreWeek(any());
+    }
+
+    @Test
+    void shouldRejectRangeLongerThanMaximum() {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+
+        assertThatThrownBy(() -> gameRangeService.getGameRange(from, from.plusDays(31)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(gameService);
+    }
+
+    @Test
+    void shouldRejectReversedRange() {
+        LocalDate from = LocalDate.of(2025, 1, 10);
+
+        assertThatThrownBy(() -> gameRangeService.getGameRange(from, from.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static GameDateCoverage emptyMarker(LocalDate date) {
+        return new GameDateCoverage(date, 0, Instant.now());
+    }
+
+    private static LiveScoreboardService.LiveScoreboard scoreboard(LocalDate date, boolean degraded, GameDTO... games) {
+        GameDay gameDay = new GameDay(List.of(games), new byte[0], "\"" + games.length + "\"", degraded);
+        return new LiveScoreboardService.LiveScoreboard(date, gameDay, Instant.now());
+    }
+
+    private static GameDTO game(long id) {
+        GameDTO game = new GameDTO();
+        game.setId(id);
+        return game;
+    }
+}
@@ -1,24 +1,31 @@
 package se.sven.nhldataservice.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
+import se.sven.nhldataservice.client.NhlApiClient;
+import se.sven.nhldataservice.config.AppConfig;
 import se.sven.nhldataservice.dto.GameDTO;
-import se.sven.nhldataservice.dto.GameWeekDTO;
-import se.sven.nhldataservice.dto.ScheduleResponseDTO;
-import se.sven.nhldataservice.model.Game;
+import se.sven.nhldataservice.exception.NhlApiUnavailableException;
+import se.sven.nhldataservice.model.GameDateCoverage;
 import se.sven.nhldataservice.model.Team;
+import se.sven.nhldataservice.repository.GameDateCoverageRepository;
 import se.sven.nhldataservice.repository.GameRepository;
+import se.sven.nhldataservice.repository.GameRow;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -26,124 +33,87 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class GameServiceTest {
 
+    private static final Team BRUINS = new Team(1L, "BOS", "Bruins", "Boston", null);
+    private static final Team CANADIENS = new Team(2L, "MTL", "Canadiens", "Montreal", null);
+
     @Mock
     private GameRepository gameRepository;
 
     @Mock
-    private RestTemplate restTemplate;
+    private NhlApiClient nhlApiClient;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private GamePersistenceService gamePersistenceService;
+
+    @Spy
+    private GameDayCache gameDayCache = new GameDayCache(10, 100_000);
 
     @Mock
-    private GamePersistenceService gamePersistenceService;
+    private GameDateCoverageRepository gameDateCoverageRepository;
+
+    @Spy
+    private EmptyGameDayPolicy emptyGameDayPolicy = new EmptyGameDayPolicy(Duration.ofDays(30), Duration.ofHours(6));
+
+    @Spy
+    private GameDayEncoder gameDayEncoder = new GameDayEncoder(new AppConfig().objectMapper());
 
     @InjectMocks
     private GameService gameService;
 
     @Test
-    void shouldFetchFromApiForTodaysDate() throws Exception {
+    void shouldFetchFromApiForTodaysDate() {
         // Given
         LocalDate today = LocalDate.now();
-        String expectedUrl = "https://api-web.nhle.com/v1/schedule/" + today;
-        String mockJsonResponse = "{\"gameWeek\":[]}";
 
-        when(restTemplate.getForObject(expectedUrl, String.class))
-                .thenReturn(mockJsonResponse);
-        when(objectMapper.readValue(mockJsonResponse, ScheduleResponseDTO.class))
-                .thenReturn(new ScheduleResponseDTO());
+        when(nhlApiClient.fetchScheduleWeek(today))
+                .thenReturn(Collections.emptyMap());
 
         // When
         List<GameDTO> result = gameService.getGamesDtoWithFallback(today);
 
         // Then
-        verify(restTemplate).getForObject(expectedUrl, String.class);
-        verify(gameRepository, never()).findAllByGameDate(any()); // Should NOT check database for today
+        verify(nhlApiClient).fetchScheduleWeek(today);
+        verify(gameRepository, never()).findRowsByGameDate(any()); // Should NOT check database for today
         assertThat(result).isEmpty();
     }
 
     @Test
-    void shouldCheckDatabaseForHistoricalDate() throws Exception {
+    void shouldCheckDatabaseForHistoricalDate() {
         // Given
         LocalDate historicalDate = LocalDate.now().minusDays(7);
-        String expectedDateString = historicalDate.format(DateTimeFormatter.ISO_LOCAL_DATE);
 
-        when(gameRepository.findAllByGameDate(expectedDateString))
+        when(gameRepository.findRowsByGameDate(historicalDate))
                 .thenReturn(Collections.emptyList());
 
-        String expectedUrl = "https://api-web.nhle.com/v1/schedule/" + historicalDate;
-        String mockJsonResponse = """
-        {
-            "gameWeek": [
-                {
-                    "date": "2025-06-20",
-                    "games": [
-                        {
-                            "id": 123,
-                            "season": 20242025,
-                            "gameDate": "2025-06-20"
-                        }
-                    ]
-                }
-            ]
-        }
-        """;
-
         // API response must contain games to trigger persistence
-        ScheduleResponseDTO mockScheduleResponse = new ScheduleResponseDTO();
-        GameWeekDTO mockWeek = new GameWeekDTO();
-        mockWeek.setDate(expectedDateString);
-        GameDTO mockGame = new GameDTO();
-        mockGame.setId(123);
-        mockWeek.setGames(List.of(mockGame));
-        mockScheduleResponse.setGameWeek(List.of(mockWeek));
-
-        when(restTemplate.getForObject(expectedUrl, String.class))
-                .thenReturn(mockJsonResponse);
-        when(objectMapper.readValue(mockJsonResponse, ScheduleResponseDTO.class))
-                .thenReturn(mockScheduleResponse);
+        when(nhlApiClient.fetchScheduleWeek(historicalDate))
+                .thenReturn(week(weekDay(historicalDate, 123L)));
 
         // When
         List<GameDTO> result = gameService.getGamesDtoWithFallback(historicalDate);
 
         // Then
-        verify(gameRepository).findAllByGameDate(expectedDateString);
-        verify(restTemplate).getForObject(expectedUrl, String.class);
-        verify(gamePersistenceService).saveGamesDtoToDB(any());
+        verify(gameRepository).findRowsByGameDate(historicalDate);
+        verify(nhlApiClient).fetchScheduleWeek(historicalDate);
+        verify(gamePersistenceService).saveGameWeek(any());
         assertThat(result).hasSize(1);
     }
 
     @Test
-    void shouldFetchFromApiForFutureDate() throws Exception {
+    void shouldFetchFromApiForFutureDate() {
         // Given
         LocalDate futureDate = LocalDate.now().plusDays(3);
-        String expectedUrl = "https://api-web.nhle.com/v1/schedule/" + futureDate;
-        String mockJsonResponse = """
-            {
-                "gameWeek": [
-                    {
-                        "date": "2025-06-30",
-                        "games": []
-                    }
-                ]
-            }
-            """;
-
-        ScheduleResponseDTO mockScheduleResponse = new ScheduleResponseDTO();
-        mockScheduleResponse.setGameWeek(Collections.emptyList());
-
-        when(restTemplate.getForObject(expectedUrl, String.class))
-                .thenReturn(mockJsonResponse);
-        when(objectMapper.readValue(mockJsonResponse, ScheduleResponseDTO.class))
-                .thenReturn(mockScheduleResponse);
+
+        when(nhlApiClient.fetchScheduleWeek(futureDate))
+                .thenReturn(Collections.emptyMap());
 
         // When
         List<GameDTO> result = gameService.getGamesDtoWithFallback(futureDate);
 
         // Then
-        verify(restTemplate).getForObject(expectedUrl, String.class);
-        verify(gameRepository, never()).findAllByGameDate(any(String.class));
-        verify(gamePersistenceService, never()).saveGamesDtoToDB(any()); // Should NOT persist future data
+        verify(nhlApiClient).fetchScheduleWeek(futureDate);
+        verify(gameRepository, never()).findRowsByGameDate(any(LocalDate.class));
+        verify(gamePersistenceService, never()).saveGameWeek(any()); // Should NOT persist future data
         assertThat(result).isEmpty();
     }
 
@@ -151,15 +121,6 @@ class GameServiceTest {
     void shouldReturnCachedGamesWhenFoundInDatabase() {
         // Given
         LocalDate historicalDate = LocalDate.now().minusDays(5);
-        String expectedDateString = historicalDate.format(DateTimeFormatter.ISO_LOCAL_DATE);
-
-        Game mockGame = new Game();
-        mockGame.setId(12345L);
-        mockGame.setSeason(20242025);
-        mockGame.setGameDate("2025-06-22");
-        mockGame.setGameState("FINAL");
-        mockGame.setHomeScore(3);
-        mockGame.setAwayScore(2);
 
         Team homeTeam = new Team();
         homeTeam.setId(1L);
@@ -173,19 +134,18 @@ class GameServiceTest {
         awayTeam.setCity("Montreal");
         awayTeam.setAbbrev("MTL");
 
-        mockGame.setHomeTeam(homeTeam);
-        mockGame.setAwayTeam(awayTeam);
+        GameRow storedRow = row(12345L, historicalDate, "FINAL", 3, 2, homeTeam, awayTeam);
 
-        when(gameRepository.findAllByGameDate(expectedDateString))
-                .thenReturn(List.of(mockGame));
+        when(gameRepository.findRowsByGameDate(historicalDate))
+                .thenReturn(List.of(storedRow));
 
         // When
         List<GameDTO> result = gameService.getGamesDtoWithFallback(historicalDate);
 
         // Then
-        verify(gameRepository).findAllByGameDate(expectedDateString);
-        verify(restTemplate, never()).getForObject(any(String.class), eq(String.class)); // Should use cache
-        verify(gamePersistenceService, never()).saveGamesDtoToDB(any());
+        verify(gameRepository).findRowsByGameDate(historicalDate);
+        verify(nhlApiClient, never()).fetchScheduleWeek(any()); // Should use cache
+        verify(gamePersistenceService, never()).saveGameWeek(any());
 
         assertThat(result).hasSize(1);
         GameDTO gameDto = result.getFirst();
@@ -197,22 +157,232 @@ class GameServiceTest {
     }
 
     @Test
-    void shouldReturnEmptyListWhenApiCallFails() throws Exception {
+    void shouldServeStoredGamesMarkedDegradedWhenApiCallFails() {
         // Given
         LocalDate today = LocalDate.now();
-        String expectedUrl = "https://api-web.nhle.com/v1/schedule/" + today;
 
-        when(restTemplate.getForObject(expectedUrl, String.class))
-                .thenThrow(new RestClientException("API connection failed"));
+        GameRow storedRow = row(777L, today, "LIVE", 1, 0, null, null);
+
+        when(nhlApiClient.fetchScheduleWeek(today))
+                .thenThrow(new NhlApiUnavailableException("API connection failed"));
+        when(gameRepository.findRowsByGameDate(today))
+                .thenReturn(List.of(storedRow));
 
         // When
-        List<GameDTO> result = gameService.getGamesDtoWithFallback(today);
+        GameDay result = gameService.getGameDay(today);
 
         // Then
-        verify(restTemplate).getForObject(expectedUrl, String.class);
-        verify(objectMapper, never()).readValue(any(String.class), eq(ScheduleResponseDTO.class));
-        verify(gamePersistenceService, never()).saveGamesDtoToDB(any());
+        verify(gamePersistenceService, never()).saveGameWeek(any());
+        assertThat(result.degraded()).isTrue();
+        assertThat(result.games()).extracting(GameDTO::getId).containsExactly(777L);
+    }
+
+    @Test
+    void shouldNotCacheHistoricalDateWhenApiCallFails() {
+        // Given
+        LocalDate historicalDate = LocalDate.now().minusDays(3);
+        when(gameRepository.findRowsByGameDate(historicalDate))
+                .thenReturn(Collections.emptyList());
+        when(nhlApiClient.fetchScheduleWeek(historicalDate))
+                .thenThrow(new NhlApiUnavailableException("API connection failed"));
+
+        // When
+        GameDay result = gameService.getGameDay(historicalDate);
+
+        // Then
+        assertThat(result.isEmpty()).isTrue();
+        assertThat(result.degraded()).isTrue();
+        assertThat(gameDayCache.stats().size()).isZero();
+    }
+
+    @Test
+    void shouldServeRepeatedHistoricalRequestsFromDayCache() {
+        // Given
+        LocalDate historicalDate = LocalDate.now().minusDays(2);
 
+        when(gameRepository.findRowsByGameDate(historicalDate))
+                .thenReturn(List.of(row(555L, historicalDate, "OFF", 4, 1, null, null)));
+
+        // When
+        List<GameDTO> first = gameService.getGamesDtoWithFallback(historicalDate);
+        List<GameDTO> second = gameService.getGamesDtoWithFallback(historicalDate);
+
+        // Then
+        verify(gameRepository, times(1)).findRowsByGameDate(historicalDate);
+        assertThat(second).isSameAs(first);
+        assertThat(gameDayCache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldServeCorrectedScoreAfterDayIsSavedAgain() {
+        // Given
+        LocalDate historicalDate = LocalDate.now().minusDays(2);
+        when(gameRepository.findRowsByGameDate(historicalDate))
+                .thenReturn(List.of(row(555L, historicalDate, "OFF", 4, 1, BRUINS, CANADIENS)))
+                .thenReturn(List.of(row(555L, historicalDate, "OFF", 3, 1, BRUINS, CANADIENS)));
+        GameDay cached = gameService.getGameDay(historicalDate);
+        GameDTO corrected = new GameDTO();
+        corrected.setId(555L);
+        corrected.setGameDate(historicalDate.toString());
+
+        // When
+        gameDayCache.onGamesSaved(new GamesSavedEvent(List.of(corrected)));
+        GameDay result = gameService.getGameDay(historicalDate);
+
+        // Then
+        assertThat(cached.games().getFirst().getHomeTeam().getScore()).isEqualTo(4);
+        assertThat(result.games().getFirst().getHomeTeam().getScore()).isEqualTo(3);
+        assertThat(result.etag()).isNotEqualTo(cached.etag());
+        verify(gameRepository, times(2)).findRowsByGameDate(historicalDate);
+    }
+
+    @Test
+    void shouldNotCacheDayLoadedBeforeConcurrentSaveCommitted() {
+        // Given
+        LocalDate historicalDate = LocalDate.now().minusDays(2);
+        GameDTO corrected = new GameDTO();
+        corrected.setId(555L);
+        corrected.setGameDate(historicalDate.toString());
+        when(gameRepository.findRowsByGameDate(historicalDate))
+                .thenAnswer(invocation -> {
+                    // The save commits after the old rows were read, before they are cached
+                    List<GameRow> before = List.of(row(555L, historicalDate, "OFF", 4, 1, BRUINS, CANADIENS));
+                    gameDayCache.onGamesSaved(new GamesSavedEvent(List.of(corrected)));
+                    return before;
+                })
+                .thenReturn(List.of(row(555L, historicalDate, "OFF", 3, 1, BRUINS, CANADIENS)));
+
+        // When
+        GameDay first = gameService.getGameDay(historicalDate);
+        GameDay second = gameService.getGameDay(historicalDate);
+
+        // Then
+        assertThat(first.games().getFirst().getHomeTeam().getScore()).isEqualTo(4);
+        assertThat(second.games().getFirst().getHomeTeam().getScore()).isEqualTo(3);
+        verify(gameRepository, times(2)).findRowsByGameDate(historicalDate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPersistEveryCompletedDayOfFetchedWeek() {
+        // Given
+        LocalDate weekStart = LocalDate.now().minusDays(10);
+
+        when(nhlApiClient.fetchScheduleWeek(weekStart))
+                .thenReturn(week(
+                        weekDay(weekStart, 1L),
+                        weekDay(weekStart.plusDays(1)),
+                        weekDay(weekStart.plusDays(2), 2L, 3L)));
+
+        // When
+        List<GameDTO> result = gameService.getGamesDtoWithFallback(weekStart);
+
+        // Then
+        ArgumentCaptor<Map<LocalDate, List<GameDTO>>> saved = ArgumentCaptor.forClass(Map.class);
+        verify(gamePersistenceService).saveGameWeek(saved.capture());
+        assertThat(saved.getValue()).containsOnlyKeys(weekStart, weekStart.plusDays(1), weekStart.plusDays(2));
+        assertThat(saved.getValue().get(weekStart.plusDays(1))).isEmpty();
+        assertThat(saved.getValue().get(weekStart.plusDays(2))).hasSize(2);
+        assertThat(result).extracting(GameDTO::getId).containsExactly(1L);
+    }
+
+    @Test
+    void shouldAnswerCoveredDateWithoutGamesWithoutApiCall() {
+        // Given
+        LocalDate historicalDate = LocalDate.now().minusDays(4);
+        when(gameDateCoverageRepository.findById(historicalDate))
+                .thenReturn(Optional.of(new GameDateCoverage(historicalDate, 0, Instant.now())));
+
+        // When
+        List<GameDTO> result = gameService.getGamesDtoWithFallback(historicalDate);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(gameRepository, never()).findRowsByGameDate(any());
+        verify(nhlApiClient, never()).fetchScheduleWeek(any());
+    }
+
+    @Test
+    void shouldAnswerUpcomingDateWithoutGamesFromStoredMarker() {
+        // Given
+        LocalDate futureDate = LocalDate.now().plusDays(20);
+        when(gameDateCoverageRepository.findById(futureDate))
+                .thenReturn(Optional.of(new GameDateCoverage(futureDate, 0, Instant.now().minusSeconds(60))));
+
+        // When
+        List<GameDTO> result = gameService.getGamesDtoWithFallback(futureDate);
+
+        // Then
         assertThat(result).isEmpty();
+        verify(nhlApiClient, never()).fetchScheduleWeek(any());
+    }
+
+    @Test
+    void shouldRefetchUpcomingDateWhenEmptyMarkerExpired() {
+        // Given
+        LocalDate futureDate = LocalDate.now().plusDays(20);
+        when(gameDateCoverageRepository.findById(futureDate))
+                .thenReturn(Optional.of(new GameDateCoverage(futureDate, 0, Instant.now().minus(Duration.ofHours(7)))));
+        when(nhlApiClient.fetchScheduleWeek(futureDate))
+                .thenReturn(Collections.emptyMap());
+
+        // When
+        gameService.getGamesDtoWithFallback(futureDate);
+
+        // Then
+        verify(nhlApiClient).fetchScheduleWeek(futureDate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStoreMarkersForUpcomingDaysWithoutGames() {
+        // Given
+        LocalDate futureDate = LocalDate.now().plusDays(20);
+
+        when(nhlApiClient.fetchScheduleWeek(futureDate))
+                .thenReturn(week(
+                        weekDay(futureDate),
+                        weekDay(futureDate.plusDays(1), 7L)));
+
+        // When
+        gameService.getGamesDtoWithFallback(futureDate);
+
+        // Then
+        ArgumentCaptor<Map<LocalDate, List<GameDTO>>> saved = ArgumentCaptor.forClass(Map.class);
+        verify(gamePersistenceService).saveGameWeek(saved.capture());
+        assertThat(saved.getValue()).containsOnlyKeys(futureDate);
+    }
+
+    private static GameRow row(long id, LocalDate date, String state, int homeScore, int awayScore,
+                               Team home, Team away) {
+        return new GameRow(id, 20242025, 2, date, null, null, null, null, null, null, state, "OK",
+                homeScore, awayScore, 3, null, null, null, null, null, null, "REG", 3,
+                home != null ? home.getId() : null, away != null ? away.getId() : null,
+                home != null ? home.getAbbrev() : null, home != null ? home.getName() : null,
+                home != null ? home.getCity() : null, home != null ? home.getLogo() : null,
+                away != null ? away.getAbbrev() : null, away != null ? away.getName() : null,
+                away != null ? away.getCity() : null, away != null ? away.getLogo() : null,
+                null);
+    }
+
+    @SafeVarargs
+    private static Map<LocalDate, List<GameDTO>> week(Map.Entry<LocalDate, List<GameDTO>>... days) {
+        Map<LocalDate, List<GameDTO>> gamesByDate = new LinkedHashMap<>();
+        for (Map.Entry<LocalDate, List<GameDTO>> day : days) {
+            gamesByDate.put(day.getKey(), day.getValue());
+        }
+        return gamesByDate;
+    }
+
+    private static Map.Entry<LocalDate, List<GameDTO>> weekDay(LocalDate date, Long... gameIds) {
+        List<GameDTO> games = Arrays.stream(gameIds)
+                .map(id -> {
+                    GameDTO game = new GameDTO();
+                    game.setId(id);
+                    game.setGameDate(date.toString());
+                    return game;
+                })
+                .toList();
+        return Map.entry(date, games);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,73 @@
+package se.sven.nhldataservice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import se.sven.nhldataservice.config.AppConfig;
+import se.sven.nhldataservice.dto.GameDTO;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class LiveGameStreamTest {
+
+    @Mock
+    private LiveScoreboardService liveScoreboardService;
+
+    private LiveGameStream liveGameStream;
+
+    @BeforeEach
+    void setUp() {
+        liveGameStream = new LiveGameStream(liveScoreboardService, new AppConfig().objectMapper(), 2,
+                Duration.ofSeconds(15), Duration.ofMinutes(30));
+    }
+
+    @Test
+    void shouldBufferChangesForEverySubscriber() {
+        // Given
+        LiveGameStream.Subscriber first = liveGameStream.new Subscriber(new SseEmitter(), 2);
+        LiveGameStream.Subscriber second = liveGameStream.new Subscriber(new SseEmitter(), 2);
+        liveGameStream.register(first);
+        liveGameStream.register(second);
+
+        // When
+        liveGameStream.onLiveGamesChanged(changed(1L));
+        liveGameStream.onLiveGamesChanged(changed(2L));
+
+        // Then
+        assertThat(liveGameStream.subscriberCount()).isEqualTo(2);
+        assertThat(first.isClosed()).isFalse();
+        assertThat(second.isClosed()).isFalse();
+    }
+
+    @Test
+    void shouldDisconnectSubscriberWhoseBufferIsFull() {
+        // Given
+        LiveGameStream.Subscriber slow = liveGameStream.new Subscriber(new SseEmitter(), 1);
+        LiveGameStream.Subscriber fast = liveGameStream.new Subscriber(new SseEmitter(), 2);
+        liveGameStream.register(slow);
+        liveGameStream.register(fast);
+
+        // When
+        liveGameStream.onLiveGamesChanged(changed(1L));
+        liveGameStream.onLiveGamesChanged(changed(2L));
+
+        // Then
+        assertThat(slow.isClosed()).isTrue();
+        assertThat(fast.isClosed()).isFalse();
+        assertThat(liveGameStream.subscriberCount()).isEqualTo(1);
+    }
+
+    private static LiveGamesChangedEvent changed(long gameId) {
+        GameDTO game = new GameDTO();
+        game.setId(gameId);
+        return new LiveGamesChangedEvent(LocalDate.now(), List.of(game));
+    }
+}
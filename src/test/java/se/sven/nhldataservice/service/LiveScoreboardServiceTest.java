@@ -0,0 +1,212 @@
+package se.sven.nhldataservice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import se.sven.nhldataservice.dto.GameDTO;
+import se.sven.nhldataservice.dto.TeamDTO;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LiveScoreboardServiceTest {
+
+    @Mock
+    private GameService gameService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private LiveScoreboardService liveScoreboardService;
+
+    @BeforeEach
+    void setUp() {
+        liveScoreboardService = new LiveScoreboardService(gameService, eventPublisher, Duration.ofMinutes(2), Duration.ofMinutes(15));
+    }
+
+    @Test
+    void shouldServeTodaysGamesFromSnapshotAfterRefresh() {
+        // Given
+        LocalDate today = LocalDate.now();
+        when(gameService.getGameDay(today)).thenReturn(gameDay(game(1L), game(2L)));
+        liveScoreboardService.refresh();
+
+        // When
+        List<GameDTO> first = liveScoreboardService.getScoreboard(today).games();
+        List<GameDTO> second = liveScoreboardService.getScoreboard(today).games();
+
+        // Then
+        assertThat(first).hasSize(2);
+        assertThat(second).isSameAs(first);
+        verify(gameService, times(1)).getGameDay(today);
+    }
+
+    @Test
+    void shouldRefreshOnRequestWhenNoSnapshotExists() {
+        // Given
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        when(gameService.getGameDay(tomorrow)).thenReturn(gameDay(game(1L)));
+
+        // When
+        LiveScoreboardService.LiveScoreboard scoreboard = liveScoreboardService.getScoreboard(tomorrow);
+
+        // Then
+        assertThat(scoreboard.games()).hasSize(1);
+        assertThat(scoreboard.date()).isEqualTo(tomorrow);
+        verify(gameService).getGameDay(tomorrow);
+    }
+
+    @Test
+    void shouldServeStaleSnapshotAndRefreshOnceInBackground() {
+        // Given
+        liveScoreboardService = new LiveScoreboardService(gameService, eventPublisher, Duration.ZERO, Duration.ofMinutes(15));
+        LocalDate today = LocalDate.now();
+        when(gameService.getGameDay(today))
+                .thenReturn(gameDay(game(1L)))
+                .thenReturn(gameDay(game(1L), game(2L)));
+        LiveScoreboardService.LiveScoreboard initial = liveScoreboardService.refresh();
+
+        // When
+        LiveScoreboardService.LiveScoreboard served = liveScoreboardService.getScoreboard(today);
+
+        // Then
+        assertThat(served).isSameAs(initial);
+        verify(gameService, timeout(2000).times(2)).getGameDay(today);
+    }
+
+    @Test
+    void shouldKeepLastKnownSnapshotMarkedDegradedWhenApiIsUnavailable() {
+        // Given
+        LocalDate today = LocalDate.now();
+        when(gameService.getGameDay(today))
+                .thenReturn(gameDay(game(1L)))
+                .thenReturn(new GameDay(Collections.emptyList(), new byte[0], "\"empty\"", true));
+        LiveScoreboardService.LiveScoreboard initial = liveScoreboardService.refresh();
+
+        // When
+        LiveScoreboardService.LiveScoreboard result = liveScoreboardService.refresh();
+
+        // Then
+        assertThat(result.games()).extracting(GameDTO::getId).containsExactly(1L);
+        assertThat(result.gameDay().degraded()).isTrue();
+        assertThat(result.fetchedAt()).isEqualTo(initial.fetchedAt());
+    }
+
+    @Test
+    void shouldReplaceSnapshotWhenDayTurnsOutToHaveNoGames() {
+        // Given
+        LocalDate today = LocalDate.now();
+        when(gameService.getGameDay(today))
+                .thenReturn(gameDay(game(1L)))
+                .thenReturn(new GameDay(Collections.emptyList(), new byte[0], "\"empty\"", false));
+        liveScoreboardService.refresh();
+
+        // When
+        LiveScoreboardService.LiveScoreboard result = liveScoreboardService.refresh();
+
+        // Then
+        assertThat(result.games()).isEmpty();
+    }
+
+    @Test
+    void shouldPublishOnlyGamesWhoseLiveStateChanged() {
+        // Given
+        LocalDate today = LocalDate.now();
+        when(gameService.getGameDay(today))
+                .thenReturn(gameDay(game(1L, "LIVE", 0), game(2L, "LIVE", 1)))
+                .thenReturn(gameDay(game(1L, "LIVE", 1), game(2L, "LIVE", 1)));
+        liveScoreboardService.refresh();
+
+        // When
+        liveScoreboardService.refresh();
+
+        // Then
+        ArgumentCaptor<LiveGamesChangedEvent> events = ArgumentCaptor.forClass(LiveGamesChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues().get(0).games()).extracting(GameDTO::getId).containsExactly(1L, 2L);
+        assertThat(events.getAllValues().get(1).games()).extracting(GameDTO::getId).containsExactly(1L);
+    }
+
+    @Test
+    void shouldNotPublishWhenNothingChanged() {
+        // Given
+        LocalDate today = LocalDate.now();
+        when(gameService.getGameDay(today))
+                .thenReturn(gameDay(game(1L, "LIVE", 2)))
+                .thenReturn(gameDay(game(1L, "LIVE", 2)));
+        liveScoreboardService.refresh();
+
+        // When
+        liveScoreboardService.refresh();
+
+        // Then
+        verify(eventPublisher, times(1)).publishEvent(any(LiveGamesChangedEvent.class));
+    }
+
+    @Test
+    void shouldKeepNewerSnapshotWhenSlowerRefreshFinishesLast() throws Exception {
+        // Given
+        LocalDate today = LocalDate.now();
+        CountDownLatch slowFetchStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlowFetch = new CountDownLatch(1);
+        AtomicReference<Instant> slowFetchStartedAt = new AtomicReference<>();
+        when(gameService.getGameDay(today))
+                .thenAnswer(invocation -> {
+                    slowFetchStartedAt.set(Instant.now());
+                    slowFetchStarted.countDown();
+                    releaseSlowFetch.await(2, TimeUnit.SECONDS);
+                    return gameDay(game(1L, "LIVE", 1));
+                })
+                .thenReturn(gameDay(game(1L, "LIVE", 2)));
+        CompletableFuture<LiveScoreboardService.LiveScoreboard> slow =
+                CompletableFuture.supplyAsync(() -> liveScoreboardService.refresh());
+        assertThat(slowFetchStarted.await(2, TimeUnit.SECONDS)).isTrue();
+        while (!Instant.now().isAfter(slowFetchStartedAt.get())) {
+            Thread.onSpinWait();
+        }
+        LiveScoreboardService.LiveScoreboard fast = liveScoreboardService.refresh();
+
+        // When
+        releaseSlowFetch.countDown();
+        LiveScoreboardService.LiveScoreboard result = slow.get(2, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(result).isSameAs(fast);
+        assertThat(liveScoreboardService.getScoreboard(today).games().getFirst().getHomeTeam().getScore()).isEqualTo(2);
+        verify(eventPublisher, times(1)).publishEvent(any(LiveGamesChangedEvent.class));
+    }
+
+    private static GameDay gameDay(GameDTO... games) {
+        return new GameDay(List.of(games), new byte[0], "\"" + games.length + "\"", false);
+    }
+
+    private static GameDTO game(long id) {
+        GameDTO game = new GameDTO();
+        game.setId(id);
+        return game;
+    }
+
+    private static GameDTO game(long id, String state, int homeScore) {
+        GameDTO game = game(id);
+        game.setGameState(state);
+        TeamDTO home = new TeamDTO();
+        home.setScore(homeScore);
+        game.setHomeTeam(home);
+        return game;
+    }
+}
@@ -0,0 +1,200 @@
+package se.sven.nhldataservice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import se.sven.nhldataservice.dto.BackfillRequest;
+import se.sven.nhldataservice.dto.GameDTO;
+import se.sven.nhldataservice.exception.BackfillAlreadyRunningException;
+import se.sven.nhldataservice.exception.BackfillJobNotFoundException;
+import se.sven.nhldataservice.model.BackfillJob;
+import se.sven.nhldataservice.model.enums.BackfillStatus;
+import se.sven.nhldataservice.repository.BackfillJobRepository;
+import se.sven.nhldataservice.repository.GameDateCoverageRepository;
+import se.sven.nhldataservice.repository.GameUpsertResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeasonBackfillServiceTest {
+
+    private static final Duration STALE_AFTER = Duration.ofMinutes(5);
+
+    @Mock
+    private BackfillJobRepository backfillJobRepository;
+
+    @Mock
+    private GameDateCoverageRepository gameDateCoverageRepository;
+
+    @Mock
+    private GameService gameService;
+
+    private SeasonBackfillService seasonBackfillService;
+
+    @BeforeEach
+    void setUp() {
+        seasonBackfillService = new SeasonBackfillService(
+                backfillJobRepository, gameDateCoverageRepository, gameService, 2, STALE_AFTER);
+    }
+
+    @Test
+    void shouldCompleteAllWeeksAndSkipCoveredOnes() {
+        // Given
+        LocalDate from = LocalDate.of(2024, 10, 1);
+        BackfillJob job = runningJob(from, from.plusDays(20));
+        LocalDate covered = from.plusDays(7);
+        when(gameDateCoverageRepository.countByGameDateBetween(any(), any())).thenReturn(0L);
+        when(gameDateCoverageRepository.countByGameDateBetween(covered, covered.plusDays(6))).thenReturn(7L);
+        when(gameService.fetchAndStoreWeek(any())).thenReturn(week(from, written(1L, 2L), game(1L), game(2L)));
+
+        // When
+        seasonBackfillService.run(job);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(BackfillStatus.COMPLETED);
+        assertThat(job.getWeeksCompleted()).isEqualTo(3);
+        assertThat(job.getGamesSaved()).isEqualTo(4);
+        assertThat(job.getResumeFrom()).isEqualTo(job.getToDate().plusDays(1));
+        verify(gameService, never()).fetchAndStoreWeek(covered);
+    }
+
+    @Test
+    void shouldStopWatermarkAtFailedWeek() {
+        // Given
+        LocalDate from = LocalDate.of(2024, 10, 1);
+        BackfillJob job = runningJob(from, from.plusDays(20));
+        LocalDate failing = from.plusDays(7);
+        when(gameService.fetchAndStoreWeek(any())).thenReturn(week(from, written(1L), game(1L)));
+        when(gameService.fetchAndStoreWeek(failing))
+                .thenReturn(new StoredWeek(Collections.emptyMap(), GameUpsertResult.NONE));
+
+        // When
+        seasonBackfillService.run(job);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(BackfillStatus.FAILED);
+        assertThat(job.getWeeksCompleted()).isEqualTo(2);
+        assertThat(job.getWeeksFailed()).isEqualTo(1);
+        assertThat(job.getResumeFrom()).isEqualTo(failing);
+    }
+
+    @Test
+    void shouldCountOnlyWrittenGamesAsSaved() {
+        // Given
+        LocalDate from = LocalDate.of(2024, 10, 1);
+        BackfillJob job = runningJob(from, from.plusDays(6));
+        GameUpsertResult saved = new GameUpsertResult(Set.of(1L), Set.of(2L), 3);
+        when(gameService.fetchAndStoreWeek(from))
+                .thenReturn(week(from, saved, game(1L), game(2L), game(3L), game(4L), game(5L)));
+
+        // When
+        seasonBackfillService.run(job);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(BackfillStatus.COMPLETED);
+        assertThat(job.getGamesSaved()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRejectStartWhileAnotherJobIsRunning() {
+        // Given
+        LocalDate from = LocalDate.of(2024, 10, 1);
+        when(backfillJobRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate running slot"));
+
+        // When / Then
+        assertThatThrownBy(() -> seasonBackfillService.start(new BackfillRequest(null, from, from.plusDays(6))))
+                .isInstanceOf(BackfillAlreadyRunningException.class);
+        verify(gameService, never()).fetchAndStoreWeek(any());
+    }
+
+    @Test
+    void shouldRejectResumeOfJobClaimedElsewhere() {
+        // Given
+        BackfillJob job = runningJob(LocalDate.of(2024, 10, 1), LocalDate.of(2024, 10, 20));
+        job.setStatus(BackfillStatus.INTERRUPTED);
+        when(backfillJobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(backfillJobRepository.claimForResume(eq(1L), any())).thenReturn(0);
+
+        // When / Then
+        assertThatThrownBy(() -> seasonBackfillService.resume(1L))
+                .isInstanceOf(BackfillAlreadyRunningException.class);
+        verify(backfillJobRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldOnlyInterruptJobsWithoutRecentHeartbeat() {
+        // Given
+        Instant before = Instant.now();
+
+        // When
+        seasonBackfillService.markAbandonedJobsInterrupted();
+
+        // Then
+        verify(backfillJobRepository).interruptJobsWithHeartbeatBefore(
+                argThat(cutoff -> !cutoff.isAfter(Instant.now().minus(STALE_AFTER))
+                        && !cutoff.isBefore(before.minus(STALE_AFTER))),
+                any());
+    }
+
+    @Test
+    void shouldRejectInvalidSeason() {
+        assertThatThrownBy(() -> seasonBackfillService.start(new BackfillRequest(20242026, null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(backfillJobRepository);
+    }
+
+    @Test
+    void shouldRejectRangeWithoutPastDates() {
+        LocalDate today = LocalDate.now();
+        BackfillRequest request = new BackfillRequest(null, today, today.plusDays(3));
+
+        assertThatThrownBy(() -> seasonBackfillService.start(request))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldThrowWhenResumingUnknownJob() {
+        when(backfillJobRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> seasonBackfillService.resume(99L))
+                .isInstanceOf(BackfillJobNotFoundException.class);
+    }
+
+    private static BackfillJob runningJob(LocalDate from, LocalDate to) {
+        BackfillJob job = new BackfillJob(from, to);
+        job.setId(1L);
+        job.setStatus(BackfillStatus.RUNNING);
+        return job;
+    }
+
+    private static StoredWeek week(LocalDate date, GameUpsertResult saved, GameDTO... games) {
+        return new StoredWeek(Map.of(date, List.of(games)), saved);
+    }
+
+    private static GameUpsertResult written(Long... ids) {
+        return new GameUpsertResult(Set.of(ids), Set.of(), 0);
+    }
+
+    private static GameDTO game(long id) {
+        GameDTO game = new GameDTO();
+        game.setId(id);
+        return game;
+    }
+}
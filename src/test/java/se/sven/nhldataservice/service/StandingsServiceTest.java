@@ -0,0 +1,182 @@
+package se.sven.nhldataservice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import se.sven.nhldataservice.dto.GameDTO;
+import se.sven.nhldataservice.dto.GameOutcomeDTO;
+import se.sven.nhldataservice.dto.StandingDTO;
+import se.sven.nhldataservice.dto.TeamDTO;
+import se.sven.nhldataservice.repository.GameRepository;
+import se.sven.nhldataservice.repository.GameRow;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StandingsServiceTest {
+
+    private static final int SEASON = 20232024;
+    private static final LocalDate SEASON_START = LocalDate.of(2023, 9, 1);
+    private static final LocalDate SEASON_END = LocalDate.of(2024, 6, 30);
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private TeamRegistry teamRegistry;
+
+    private StandingsService standingsService;
+
+    @BeforeEach
+    void setUp() {
+        standingsService = new StandingsService(gameRepository, teamRegistry, 4);
+    }
+
+    @Test
+    void shouldBuildRecordsFromStoredFinishedRegularSeasonGames() {
+        // Given
+        when(gameRepository.findRowsByGameDateBetween(SEASON_START, SEASON_END)).thenReturn(List.of(
+                row(1L, 2, "OFF", 4, 2, "REG", null, 10L, 8L),
+                row(2L, 2, "OFF", 2, 3, "OT", "1", 6L, 10L),
+                row(3L, 1, "OFF", 5, 0, "REG", null, 8L, 10L),
+                row(4L, 2, "FUT", 0, 0, null, null, 8L, 6L)));
+
+        // When
+        List<StandingDTO> standings = standingsService.getStandings(SEASON);
+
+        // Then
+        assertThat(standings).extracting(StandingDTO::getTeamId).containsExactly(10L, 6L, 8L);
+        StandingDTO leafs = standings.getFirst();
+        assertThat(leafs.getGamesPlayed()).isEqualTo(2);
+        assertThat(leafs.getWins()).isEqualTo(2);
+        assertThat(leafs.getRegulationWins()).isEqualTo(1);
+        assertThat(leafs.getPoints()).isEqualTo(4);
+        assertThat(leafs.getGoalDifferential()).isEqualTo(3);
+        assertThat(standings.get(1).getOtLosses()).isEqualTo(1);
+        assertThat(standings.get(1).getPoints()).isEqualTo(1);
+        assertThat(standings.get(2).getLosses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountSavedGamesWithoutReloadingSeason() {
+        // Given
+        when(gameRepository.findRowsByGameDateBetween(SEASON_START, SEASON_END))
+                .thenReturn(List.of(row(1L, 2, "OFF", 4, 2, "REG", null, 10L, 8L)));
+        standingsService.getStandings(SEASON);
+
+        // When
+        standingsService.onGamesSaved(new GamesSavedEvent(List.of(game(2L, 1, 3, null, 10L, 8L))));
+        List<StandingDTO> standings = standingsService.getStandings(SEASON);
+
+        // Then
+        assertThat(standings).extracting(StandingDTO::getTeamId).containsExactly(8L, 10L);
+        assertThat(standings).extracting(StandingDTO::getGamesPlayed).containsExactly(2, 2);
+        assertThat(standings).extracting(StandingDTO::getPoints).containsExactly(2, 2);
+        verify(gameRepository, times(1)).findRowsByGameDateBetween(any(), any());
+    }
+
+    @Test
+    void shouldReplaceResultOfGameSavedAgain() {
+        // Given
+        when(gameRepository.findRowsByGameDateBetween(SEASON_START, SEASON_END))
+                .thenReturn(List.of(row(1L, 2, "OFF", 4, 2, "REG", null, 10L, 8L)));
+        standingsService.getStandings(SEASON);
+
+        // When
+        standingsService.onGamesSaved(new GamesSavedEvent(List.of(game(1L, 4, 2, null, 10L, 8L))));
+        standingsService.onGamesSaved(new GamesSavedEvent(List.of(game(1L, 2, 3, "1", 10L, 8L))));
+        List<StandingDTO> standings = standingsService.getStandings(SEASON);
+
+        // Then
+        assertThat(standings).extracting(StandingDTO::getTeamId).containsExactly(8L, 10L);
+        assertThat(standings).extracting(StandingDTO::getGamesPlayed).containsExactly(1, 1);
+        assertThat(standings.get(1).getOtLosses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldStopCountingGameSavedAgainWithoutResult() {
+        // Given
+        when(gameRepository.findRowsByGameDateBetween(SEASON_START, SEASON_END)).thenReturn(List.of(
+                row(1L, 2, "OFF", 4, 2, "REG", null, 10L, 8L),
+                row(2L, 2, "OFF", 3, 1, "REG", null, 6L, 8L)));
+        standingsService.getStandings(SEASON);
+        GameDTO reopened = game(1L, 4, 2, null, 10L, 8L);
+        reopened.setGameState("LIVE");
+        GameDTO playoff = game(2L, 3, 1, null, 6L, 8L);
+        playoff.setGameType(3);
+
+        // When
+        standingsService.onGamesSaved(new GamesSavedEvent(List.of(reopened, playoff)));
+        List<StandingDTO> standings = standingsService.getStandings(SEASON);
+
+        // Then
+        assertThat(standings).isEmpty();
+    }
+
+    @Test
+    void shouldBuildLeastRecentlyUsedSeasonAgainWhenOverLimit() {
+        // Given
+        StandingsService service = new StandingsService(gameRepository, teamRegistry, 2);
+        when(gameRepository.findRowsByGameDateBetween(any(), any())).thenReturn(List.of());
+        service.getStandings(SEASON);
+        service.getStandings(20222023);
+        service.getStandings(SEASON);
+
+        // When
+        service.getStandings(20212022);
+        service.getStandings(SEASON);
+        service.getStandings(20222023);
+
+        // Then
+        verify(gameRepository, times(1)).findRowsByGameDateBetween(SEASON_START, SEASON_END);
+        verify(gameRepository, times(2))
+                .findRowsByGameDateBetween(LocalDate.of(2022, 9, 1), LocalDate.of(2023, 6, 30));
+    }
+
+    @Test
+    void shouldIgnoreSavedGamesOfSeasonsNotBuilt() {
+        // When
+        standingsService.onGamesSaved(new GamesSavedEvent(List.of(game(1L, 4, 2, null, 10L, 8L))));
+
+        // Then
+        verifyNoInteractions(gameRepository);
+    }
+
+    private static GameRow row(long id, int gameType, String state, int homeScore, int awayScore,
+                               String periodType, String otPeriods, Long homeTeamId, Long awayTeamId) {
+        return new GameRow(id, SEASON, gameType, LocalDate.of(2024, 1, 15), null, null, null, null, null, null,
+                state, "OK", homeScore, awayScore, 3, null, otPeriods, null, null, null, null, periodType, 3,
+                homeTeamId, awayTeamId, null, null, null, null, null, null, null, null, null);
+    }
+
+    private static GameDTO game(long id, int homeScore, int awayScore, String otPeriods,
+                                long homeTeamId, long awayTeamId) {
+        GameDTO game = new GameDTO();
+        game.setId(id);
+        game.setSeason(SEASON);
+        game.setGameType(2);
+        game.setGameState("OFF");
+        game.setHomeTeam(team(homeTeamId, homeScore));
+        game.setAwayTeam(team(awayTeamId, awayScore));
+        if (otPeriods != null) {
+            GameOutcomeDTO outcome = new GameOutcomeDTO();
+            outcome.setOtPeriods(otPeriods);
+            game.setGameOutcome(outcome);
+        }
+        return game;
+    }
+
+    private static TeamDTO team(long id, int score) {
+        TeamDTO team = new TeamDTO();
+        team.setId(id);
+        team.setScore(score);
+        return team;
+    }
+}
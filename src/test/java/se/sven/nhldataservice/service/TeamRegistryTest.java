@@ -0,0 +1,79 @@
+package se.sven.nhldataservice.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import se.sven.nhldataservice.model.Team;
+import se.sven.nhldataservice.repository.TeamRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TeamRegistryTest {
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @InjectMocks
+    private TeamRegistry teamRegistry;
+
+    @Test
+    void shouldResolveLoadedTeamsWithoutDatabaseAccess() {
+        // Given
+        Team leafs = new Team(10L, "TOR", "Maple Leafs", "Toronto", "tor.svg");
+        when(teamRepository.findAll()).thenReturn(List.of(leafs));
+        teamRegistry.load();
+
+        // When
+        Team resolved = teamRegistry.resolve(10L);
+
+        // Then
+        assertThat(resolved).isSameAs(leafs);
+        verify(teamRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldNotQueryDatabaseForUnregisteredTeam() {
+        // When
+        Team resolved = teamRegistry.resolve(8L);
+
+        // Then
+        assertThat(resolved).isNull();
+        verifyNoInteractions(teamRepository);
+    }
+
+    @Test
+    void shouldReportOnlyNewOrChangedTeams() {
+        // Given
+        teamRegistry.registerAfterCommit(List.of(
+                new Team(10L, "TOR", "Maple Leafs", "Toronto", "tor.svg"),
+                new Team(8L, "MTL", "Canadiens", "Montréal", "mtl.svg")));
+
+        // When
+        List<Team> changed = teamRegistry.findChanged(List.of(
+                new Team(10L, "TOR", "Maple Leafs", "Toronto", "tor.svg"),
+                new Team(8L, "MTL", "Canadiens", "Montréal", "mtl-new.svg"),
+                new Team(6L, "BOS", "Bruins", "Boston", "bos.svg")));
+
+        // Then
+        assertThat(changed).extracting(Team::getId).containsExactly(8L, 6L);
+        assertThat(changed.getFirst().getLogo()).isEqualTo("mtl-new.svg");
+    }
+
+    @Test
+    void shouldKeepKnownValuesWhenIncomingTeamIsPartial() {
+        // Given
+        teamRegistry.registerAfterCommit(List.of(new Team(10L, "TOR", "Maple Leafs", "Toronto", "tor.svg")));
+
+        // When
+        List<Team> changed = teamRegistry.findChanged(List.of(new Team(10L, "TOR", null, null, "tor.svg")));
+
+        // Then
+        assertThat(changed).isEmpty();
+    }
+}
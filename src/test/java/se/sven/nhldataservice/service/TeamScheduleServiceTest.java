@@ -0,0 +1,144 @@
+package se.sven.nhldataservice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import se.sven.nhldataservice.config.AppConfig;
+import se.sven.nhldataservice.dto.GameDTO;
+import se.sven.nhldataservice.dto.TeamDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TeamScheduleServiceTest {
+
+    private static final int SEASON = 20232024;
+
+    @Mock
+    private GameService gameService;
+
+    private final GameDayEncoder encoder = new GameDayEncoder(new AppConfig().objectMapper());
+
+    private TeamScheduleService teamScheduleService;
+
+    @BeforeEach
+    void setUp() {
+        teamScheduleService = new TeamScheduleService(gameService, encoder, 256);
+    }
+
+    @Test
+    void shouldServeSeasonFromCacheUntilTeamGamesAreSaved() {
+        // Given
+        when(gameService.findStoredTeamGames(10L, SEASON))
+                .thenReturn(List.of(game(1L, "2024-01-15", 10L, 8L)));
+
+        // When
+        teamScheduleService.getTeamGames(10L, SEASON, null, null);
+        teamScheduleService.getTeamGames(10L, SEASON, null, null);
+        teamScheduleService.onGamesSaved(new GamesSavedEvent(List.of(game(2L, "2024-01-16", 8L, 10L))));
+        teamScheduleService.getTeamGames(10L, SEASON, null, null);
+
+        // Then
+        verify(gameService, times(2)).findStoredTeamGames(10L, SEASON);
+    }
+
+    @Test
+    void shouldKeepCacheWhenOtherTeamsAreSaved() {
+        // Given
+        when(gameService.findStoredTeamGames(10L, SEASON))
+                .thenReturn(List.of(game(1L, "2024-01-15", 10L, 8L)));
+        teamScheduleService.getTeamGames(10L, SEASON, null, null);
+
+        // When
+        teamScheduleService.onGamesSaved(new GamesSavedEvent(List.of(game(3L, "2024-01-16", 6L, 3L))));
+        teamScheduleService.getTeamGames(10L, SEASON, null, null);
+
+        // Then
+        verify(gameService, times(1)).findStoredTeamGames(10L, SEASON);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedSeasonWhenEntryLimitReached() {
+        // Given
+        TeamScheduleService service = new TeamScheduleService(gameService, encoder, 2);
+        when(gameService.findStoredTeamGames(anyLong(), eq(SEASON)))
+                .thenAnswer(invocation -> List.of(game(1L, "2024-01-15", invocation.getArgument(0), 99L)));
+        service.getTeamGames(10L, SEASON, null, null);
+        service.getTeamGames(8L, SEASON, null, null);
+        service.getTeamGames(10L, SEASON, null, null); // team 8 becomes least recently used
+
+        // When
+        service.getTeamGames(6L, SEASON, null, null);
+        service.getTeamGames(10L, SEASON, null, null);
+        service.getTeamGames(6L, SEASON, null, null);
+        service.getTeamGames(8L, SEASON, null, null);
+
+        // Then
+        verify(gameService, times(1)).findStoredTeamGames(10L, SEASON);
+        verify(gameService, times(1)).findStoredTeamGames(6L, SEASON);
+        verify(gameService, times(2)).findStoredTeamGames(8L, SEASON);
+    }
+
+    @Test
+    void shouldNarrowSeasonOfFromDateToRange() {
+        // Given
+        when(gameService.findStoredTeamGames(10L, SEASON)).thenReturn(List.of(
+                game(1L, "2023-10-11", 10L, 8L),
+                game(2L, "2024-01-15", 6L, 10L),
+                game(3L, "2024-04-18", 10L, 3L)));
+
+        // When
+        List<GameDTO> result = teamScheduleService.getTeamGames(10L, null,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31)).games();
+
+        // Then
+        assertThat(result).extracting(GameDTO::getId).containsExactly(2L);
+    }
+
+    @Test
+    void shouldRejectRangeSpanningSeasonsWithoutSeason() {
+        assertThatThrownBy(() -> teamScheduleService.getTeamGames(10L, null,
+                LocalDate.of(2024, 6, 1), LocalDate.of(2024, 7, 31)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(gameService);
+    }
+
+    @Test
+    void shouldServeGamesOfStoredSeasonOutsideUsualMonths() {
+        // Given
+        int bubbleSeason = 20192020;
+        when(gameService.findStoredTeamGames(10L, bubbleSeason)).thenReturn(List.of(
+                game(1L, "2020-02-15", 10L, 8L),
+                game(2L, "2020-08-12", 10L, 6L)));
+
+        // When
+        List<GameDTO> result = teamScheduleService.getTeamGames(10L, bubbleSeason,
+                LocalDate.of(2020, 8, 1), null).games();
+
+        // Then
+        assertThat(result).extracting(GameDTO::getId).containsExactly(2L);
+    }
+
+    private static GameDTO game(long id, String date, long homeTeamId, long awayTeamId) {
+        GameDTO game = new GameDTO();
+        game.setId(id);
+        game.setSeason(SEASON);
+        game.setGameDate(date);
+        game.setHomeTeam(team(homeTeamId));
+        game.setAwayTeam(team(awayTeamId));
+        return game;
+    }
+
+    private static TeamDTO team(long id) {
+        TeamDTO team = new TeamDTO();
+        team.setId(id);
+        return team;
+    }
+}
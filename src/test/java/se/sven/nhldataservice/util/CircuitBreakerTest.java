@@ -0,0 +1,130 @@
+package se.sven.nhldataservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private static final Instant START = Instant.parse("2025-01-15T18:00:00Z");
+
+    @Test
+    void shouldOpenAfterConsecutiveFailures() {
+        // Given
+        CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(30), Clock.fixed(START, ZoneOffset.UTC));
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.recordFailure();
+        }
+
+        // Then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void shouldResetFailureCountOnSuccess() {
+        // Given
+        CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofSeconds(30), Clock.fixed(START, ZoneOffset.UTC));
+        breaker.recordFailure();
+
+        // When
+        breaker.recordSuccess();
+        breaker.recordFailure();
+
+        // Then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldAllowSingleTrialAfterOpenDurationAndCloseOnSuccess() {
+        // Given
+        MutableClock clock = new MutableClock(START);
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(30), clock);
+        breaker.recordFailure();
+
+        // When
+        clock.advance(Duration.ofSeconds(31));
+        boolean trial = breaker.tryAcquire();
+        boolean concurrent = breaker.tryAcquire();
+        breaker.recordSuccess();
+
+        // Then
+        assertThat(trial).isTrue();
+        assertThat(concurrent).isFalse();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldReopenWhenTrialFails() {
+        // Given
+        MutableClock clock = new MutableClock(START);
+        CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(30), clock);
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+        clock.advance(Duration.ofSeconds(31));
+        breaker.tryAcquire();
+
+        // When
+        breaker.recordFailure();
+
+        // Then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void shouldAllowNewTrialWhenTrialIsReleased() {
+        // Given
+        MutableClock clock = new MutableClock(START);
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(30), clock);
+        breaker.recordFailure();
+        clock.advance(Duration.ofSeconds(31));
+        breaker.tryAcquire();
+
+        // When
+        breaker.release();
+
+        // Then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package se.sven.nhldataservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    void shouldRunLoaderOnceForConcurrentCallers() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger invocations = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch followersStarted = new CountDownLatch(CALLERS - 1);
+        List<Thread> followerThreads = new CopyOnWriteArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+            // When
+            Future<String> leader = executor.submit(() -> singleFlight.execute("2025-01-15", () -> {
+                invocations.incrementAndGet();
+                loaderStarted.countDown();
+                awaitJoined(followersStarted, followerThreads);
+                return "games";
+            }));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 1; i < CALLERS; i++) {
+                followers.add(executor.submit(() -> {
+                    followerThreads.add(Thread.currentThread());
+                    followersStarted.countDown();
+                    return singleFlight.execute("2025-01-15", () -> {
+                        invocations.incrementAndGet();
+                        return "duplicate";
+                    });
+                }));
+            }
+
+            // Then
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("games");
+            for (Future<String> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("games");
+            }
+        }
+        assertThat(invocations).hasValue(1);
+    }
+
+    @Test
+    void shouldShareFailureWithWaitingCallers() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch followerStarted = new CountDownLatch(1);
+        List<Thread> followerThreads = new CopyOnWriteArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            // When
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                loaderStarted.countDown();
+                awaitJoined(followerStarted, followerThreads);
+                throw new IllegalStateException("upstream down");
+            }));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<String> follower = executor.submit(() -> {
+                followerThreads.add(Thread.currentThread());
+                followerStarted.countDown();
+                return singleFlight.execute("key", () -> "unexpected");
+            });
+
+            // Then
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("upstream down");
+        }
+    }
+
+    @Test
+    void shouldRunAgainAfterPreviousCallCompleted() {
+        // Given
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger invocations = new AtomicInteger();
+
+        // When
+        singleFlight.execute("key", invocations::incrementAndGet);
+        Integer second = singleFlight.execute("key", invocations::incrementAndGet);
+
+        // Then
+        assertThat(second).isEqualTo(2);
+    }
+
+    /**
+     * Called from the running loader: waits until the followers have started and are
+     * parked on the in-flight call, so none of them can run its own loader.
+     */
+    private static void awaitJoined(CountDownLatch followersStarted, List<Thread> followers) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        try {
+            assertThat(followersStarted.await(5, TimeUnit.SECONDS)).as("followers started").isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        for (Thread follower : followers) {
+            while (follower.getState() != Thread.State.WAITING) {
+                assertThat(System.nanoTime()).as("follower joining the in-flight call").isLessThan(deadline);
+                Thread.onSpinWait();
+            }
+        }
+    }
+}